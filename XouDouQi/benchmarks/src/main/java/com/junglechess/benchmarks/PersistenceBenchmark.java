@@ -0,0 +1,117 @@
+package com.junglechess.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.junglechess.db.DatabaseManager;
+import com.junglechess.game.Game;
+import com.junglechess.game.Move;
+import com.junglechess.model.Player;
+import com.junglechess.model.Position;
+
+/**
+ * Benchmarks of {@link DatabaseManager} against a temporary SQLite file
+ * seeded with some game history. The manager's console messages are discarded.
+ * Each benchmark runs without and with the player cache.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersistenceBenchmark {
+    private static final int SEEDED_GAMES = 1000;
+
+    @Param({"0", "10000"})
+    private int cacheSize;
+
+    private PrintStream originalOut;
+    private File databaseFile;
+    private DatabaseManager database;
+    private Player alice;
+    private Player bob;
+    private Game finishedGame;
+
+    @Setup
+    public void setUp() throws IOException {
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        databaseFile = File.createTempFile("junglechess-bench", ".db");
+        database = new DatabaseManager("jdbc:sqlite:" + databaseFile.getAbsolutePath(),
+            DatabaseManager.DEFAULT_POOL_SIZE, cacheSize);
+        database.connect();
+        database.setupTables();
+
+        database.createPlayer("alice", "secret");
+        alice = new Player("alice");
+        bob = new Player("bob");
+        for (int i = 0; i < SEEDED_GAMES; i++) {
+            database.saveGameResult(i % 3 == 0 ? bob : alice, i % 3 == 0 ? alice : bob);
+        }
+        database.flush();
+
+        // A random game played to the end, to save with its moves
+        SplittableRandom random = new SplittableRandom(1);
+        int[] moves = new int[Move.MAX_MOVES];
+        do {
+            finishedGame = new Game(alice, bob, Position.initial());
+            while (!finishedGame.isGameOver() && finishedGame.getMoveCount() < 300) {
+                finishedGame.makeMove(moves[random.nextInt(finishedGame.generateMoves(moves))]);
+            }
+        } while (!finishedGame.isGameOver());
+    }
+
+    @TearDown
+    public void tearDown() {
+        database.close();
+        databaseFile.delete();
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public void saveGameResult() {
+        database.saveGameResult(alice, bob);
+    }
+
+    @Benchmark
+    public void saveGameResultWithMoves() {
+        database.saveGameResult(alice, bob, finishedGame);
+    }
+
+    /**
+     * Saves a result and waits for it to be committed, the cost a caller paid before write-behind.
+     */
+    @Benchmark
+    public void saveGameResultAndFlush() {
+        database.saveGameResult(alice, bob);
+        database.flush();
+    }
+
+    @Benchmark
+    public void getPlayerHistory() {
+        database.getPlayerHistory("alice");
+    }
+
+    @Benchmark
+    public Player loginPlayer() {
+        return database.loginPlayer("alice", "secret");
+    }
+}
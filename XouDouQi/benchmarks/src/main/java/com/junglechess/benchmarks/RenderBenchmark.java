@@ -0,0 +1,76 @@
+package com.junglechess.benchmarks;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.junglechess.game.Game;
+import com.junglechess.model.Board;
+import com.junglechess.model.Player;
+import com.junglechess.view.BoardRenderer;
+import com.junglechess.view.ConsoleView;
+
+/**
+ * Benchmarks of drawing the board with {@link ConsoleView} and {@link BoardRenderer}.
+ * Standard output is replaced by a stream that discards everything, so the
+ * numbers cover building the output rather than the terminal.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderBenchmark {
+    private PrintStream originalOut;
+    private PrintStream nullOut;
+    private Game game;
+    private Board board;
+    private BoardRenderer incremental;
+
+    @Setup
+    public void setUp() {
+        originalOut = System.out;
+        nullOut = new PrintStream(OutputStream.nullOutputStream());
+        System.setOut(nullOut);
+        game = new Game(new Player("Red"), new Player("Blue"));
+        board = game.getBoard();
+        incremental = new BoardRenderer();
+        incremental.setIncremental(true);
+        incremental.render(board, nullOut);
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public void displayBoard() {
+        ConsoleView.displayBoard(board);
+    }
+
+    /**
+     * Redraws only the two cells changed by a move, then the two cells changed back.
+     * @return the bytes written for both frames
+     */
+    @Benchmark
+    public int renderChangedCells() {
+        game.movePiece(game.getPlayer1(), 6, 0, 5, 0);
+        int bytes = incremental.render(board, nullOut);
+        game.unmakeMove();
+        return bytes + incremental.render(board, nullOut);
+    }
+}
@@ -0,0 +1,90 @@
+package com.junglechess.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.junglechess.game.Game;
+import com.junglechess.model.Board;
+import com.junglechess.model.Piece;
+import com.junglechess.model.Player;
+import com.junglechess.model.PositionNotation;
+import com.junglechess.model.Rank;
+
+/**
+ * Benchmarks of the rules engine as the console game uses it:
+ * validated moves on a board-backed game, the game-over check, capture rules and board construction.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RulesBenchmark {
+    private Player red;
+    private Player blue;
+    private Game game;
+    private Board board;
+    private Piece rat;
+    private Piece elephant;
+    private Piece cat;
+
+    @Setup
+    public void setUp() {
+        red = new Player("Red");
+        blue = new Player("Blue");
+        game = new Game(red, blue);
+        board = game.getBoard();
+        rat = new Piece(Rank.RAT, red);
+        elephant = new Piece(Rank.ELEPHANT, blue);
+        cat = new Piece(Rank.CHAT, red);
+    }
+
+    /**
+     * Validates and plays the Red Elephant's first step, then takes it back.
+     */
+    @Benchmark
+    public boolean movePiece() {
+        boolean moved = game.movePiece(red, 6, 0, 5, 0);
+        game.unmakeMove();
+        return moved;
+    }
+
+    @Benchmark
+    public boolean isGameOver() {
+        return game.isGameOver();
+    }
+
+    @Benchmark
+    public boolean canCapture() {
+        return rat.canCapture(elephant) & cat.canCapture(elephant);
+    }
+
+    /**
+     * Capture check taking trap status and the river rule from the squares' terrain.
+     */
+    @Benchmark
+    public boolean canCaptureOnSquares() {
+        return rat.canCapture(elephant, board.getSquare(3, 1), board.getSquare(2, 1));
+    }
+
+    @Benchmark
+    public Board boardConstruction() {
+        return new Board(red, blue);
+    }
+
+    @Benchmark
+    public Board boardFromNotation() {
+        return new Board(red, blue, PositionNotation.INITIAL);
+    }
+}
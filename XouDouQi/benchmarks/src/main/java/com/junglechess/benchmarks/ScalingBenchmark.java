@@ -0,0 +1,81 @@
+package com.junglechess.benchmarks;
+
+import com.junglechess.ai.AlphaBetaSearcher;
+import com.junglechess.ai.LazySmpSearcher;
+import com.junglechess.game.Game;
+import com.junglechess.game.Move;
+import com.junglechess.model.Player;
+import com.junglechess.model.Position;
+
+/**
+ * Command-line report of Lazy SMP nodes-per-second scaling.
+ * Runs fixed-time searches from a handful of positions with 1, 2, 4, ... up to N threads
+ * and prints nodes per second, speedup over one thread and the average depth reached.
+ * Unlike the JMH benchmarks, it is a plain program, since each row needs a searcher with its own thread count.
+ * <p>
+ * Usage: {@code java -cp target/benchmarks.jar com.junglechess.benchmarks.ScalingBenchmark [maxThreads] [millisPerSearch]}
+ */
+public class ScalingBenchmark {
+    private static final int POSITION_COUNT = 4;
+    private static final int OPENING_PLIES = 6;
+
+    public static void main(String[] args) {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        long millis = args.length > 1 ? Long.parseLong(args[1]) : 2000;
+        Game[] positions = buildPositions();
+
+        System.out.println("=== LAZY SMP SCALING ===");
+        System.out.println("Positions: " + positions.length + ", time per search: " + millis + " ms");
+        System.out.println(String.format("%8s %14s %14s %9s %9s", "threads", "nodes", "nodes/s", "speedup", "depth"));
+
+        double baseline = 0;
+        for (int threads = 1; threads <= maxThreads; threads = nextThreadCount(threads, maxThreads)) {
+            long nodes = 0;
+            long depthSum = 0;
+            long start = System.nanoTime();
+            // No depth limit, only the time limit; the searcher caps the depth at its deepest ply
+            try (LazySmpSearcher searcher = new LazySmpSearcher(threads, Integer.MAX_VALUE, millis)) {
+                for (Game game : positions) {
+                    searcher.clearTable();
+                    searcher.chooseMove(game);
+                    nodes += searcher.getNodeCount();
+                    depthSum += searcher.getCompletedDepth();
+                }
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            double nps = nodes / seconds;
+            if (threads == 1) {
+                baseline = nps;
+            }
+            System.out.println(String.format("%8d %14d %14.0f %8.2fx %9.1f",
+                threads, nodes, nps, nps / baseline, (double) depthSum / positions.length));
+        }
+    }
+
+    private static int nextThreadCount(int threads, int maxThreads) {
+        int next = threads * 2;
+        return next > maxThreads && threads < maxThreads ? maxThreads : next;
+    }
+
+    /**
+     * Builds test positions by letting a shallow search play a few opening moves.
+     */
+    private static Game[] buildPositions() {
+        Player red = new Player("Red");
+        Player blue = new Player("Blue");
+        Game[] positions = new Game[POSITION_COUNT];
+        AlphaBetaSearcher opener = new AlphaBetaSearcher(3, 1000);
+        Game game = new Game(red, blue, Position.initial());
+        for (int i = 0; i < POSITION_COUNT; i++) {
+            positions[i] = new Game(red, blue, game.getPosition());
+            for (int ply = 0; ply < OPENING_PLIES && !game.isGameOver(); ply++) {
+                int move = opener.chooseMove(game);
+                if (move == Move.NONE) {
+                    break;
+                }
+                game.makeMove(move);
+            }
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,124 @@
+package com.junglechess.benchmarks;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.junglechess.db.DatabaseManager;
+import com.junglechess.server.SessionExecutor;
+
+/**
+ * Measures how many waiting player sessions fit in memory with virtual threads
+ * and with a pool of platform threads.
+ * For each model it connects a number of local clients, starts a session for each, and
+ * waits until every session is blocked reading the login choice. The heap used after a
+ * full collection, and the process's resident memory, are compared with the same numbers
+ * taken before the sessions started, so the sockets themselves are not counted.
+ * Platform thread stacks live outside the heap, which is why resident memory is reported too.
+ * <p>
+ * Usage: {@code java -cp target/benchmarks.jar com.junglechess.benchmarks.SessionBenchmark <sessions> [virtual|platform|both]}.
+ * For the cleanest numbers, run each model in its own JVM.
+ */
+public class SessionBenchmark {
+    private static final byte[] LOGIN_PROMPT = "(L/C): ".getBytes(StandardCharsets.UTF_8);
+    private static final double GIGABYTE = 1024.0 * 1024 * 1024;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.out.println("Usage: SessionBenchmark <sessions> [virtual|platform|both]");
+            return;
+        }
+        int sessions = Integer.parseInt(args[0]);
+        String mode = args.length > 1 ? args[1] : "both";
+
+        // Sessions wait at the login prompt and never reach the database
+        DatabaseManager dbManager = new DatabaseManager("jdbc:sqlite::memory:");
+
+        System.out.println("=== SESSION MEMORY BENCHMARK (" + sessions + " sessions) ===");
+        System.out.println(String.format("%-10s %14s %14s %16s %16s",
+            "Threads", "Heap/session", "RSS/session", "Sessions/GB heap", "Sessions/GB RSS"));
+        if (!mode.equals("platform")) {
+            measure("virtual", SessionExecutor.virtualThreads(dbManager), sessions);
+        }
+        if (!mode.equals("virtual")) {
+            measure("platform", SessionExecutor.platformThreads(sessions, dbManager), sessions);
+        }
+    }
+
+    private static void measure(String label, SessionExecutor executor, int sessions) throws Exception {
+        List<Socket> clients = new ArrayList<>(sessions);
+        List<Socket> accepted = new ArrayList<>(sessions);
+        try (ServerSocket serverSocket = new ServerSocket(0, sessions, InetAddress.getLoopbackAddress())) {
+            for (int i = 0; i < sessions; i++) {
+                clients.add(new Socket(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort()));
+                accepted.add(serverSocket.accept());
+            }
+        }
+
+        long heapBefore = usedHeap();
+        long rssBefore = residentMemory();
+        for (Socket socket : accepted) {
+            executor.submit(socket);
+        }
+        for (Socket client : clients) {
+            awaitLoginPrompt(new BufferedInputStream(client.getInputStream()));
+        }
+        long heapPerSession = (usedHeap() - heapBefore) / sessions;
+        long rssPerSession = (residentMemory() - rssBefore) / sessions;
+
+        System.out.println(String.format("%-10s %12d B %12d B %16.0f %16.0f", label,
+            heapPerSession, rssPerSession,
+            GIGABYTE / Math.max(heapPerSession, 1), GIGABYTE / Math.max(rssPerSession, 1)));
+
+        // Disconnecting ends every session at its next read
+        for (Socket client : clients) {
+            client.close();
+        }
+        executor.close();
+    }
+
+    /**
+     * Reads a client's output until the session asks for the login choice, i.e. is blocked reading.
+     */
+    private static void awaitLoginPrompt(InputStream in) throws IOException {
+        int matched = 0;
+        int b;
+        while (matched < LOGIN_PROMPT.length && (b = in.read()) >= 0) {
+            matched = b == LOGIN_PROMPT[matched] ? matched + 1 : (b == LOGIN_PROMPT[0] ? 1 : 0);
+        }
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Gets the resident set size of this process on Linux.
+     * @return the resident memory in bytes, or 0 where /proc is not available
+     */
+    private static long residentMemory() {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc/self/status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", "")) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Not Linux; only the heap numbers are meaningful
+        }
+        return 0;
+    }
+}
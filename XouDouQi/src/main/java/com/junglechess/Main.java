@@ -1,20 +1,74 @@
 package com.junglechess;
 
+import java.util.Arrays;
+import java.util.Scanner;
+
+import com.junglechess.ai.Engine;
+import com.junglechess.ai.LazySmpSearcher;
+import com.junglechess.ai.MctsSearcher;
 import com.junglechess.controller.GameController;
+import com.junglechess.controller.HeadlessRunner;
+import com.junglechess.db.ArchiveScanner;
 import com.junglechess.db.DatabaseManager;
 import com.junglechess.game.Game;
+import com.junglechess.game.Perft;
 import com.junglechess.model.Player;
+import com.junglechess.server.GameServer;
+import com.junglechess.server.SessionServer;
 
 /**
  * Main entry point for the Xou Dou Qi (Jungle Chess) game.
  * This class initializes the database, handles player authentication,
  * and starts the game loop.
+ * Run with {@code --ai} to play against the computer as Player 2,
+ * searching on every available core, {@code --mcts} to play against the
+ * Monte Carlo tree search opponent instead, with {@code --perft <depth> [threads] ["<position>"]}
+ * to count move-generation nodes, or with {@code --simulate <games> [random|alphabeta|mcts] [maxPlies] [databaseFile] [archiveFile]}
+ * to play games headless and report throughput, with {@code --server [port]} to host
+ * games for network clients, with {@code --sessions [port] [platformThreads]} to serve the
+ * full console game, login included, to each network client on its own virtual thread,
+ * or with {@code --archive generate|scan <file> ...} to write or scan a game archive.
  */
 public class Main {
     public static void main(String[] args) {
-        try {
+        if (args.length > 0 && args[0].equals("--perft")) {
+            Perft.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--simulate")) {
+            HeadlessRunner.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--server")) {
+            try {
+                GameServer.main(Arrays.copyOfRange(args, 1, args.length));
+            } catch (Exception e) {
+                System.err.println("Error starting the server: " + e.getMessage());
+            }
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--sessions")) {
+            try {
+                SessionServer.main(Arrays.copyOfRange(args, 1, args.length));
+            } catch (Exception e) {
+                System.err.println("Error starting the session server: " + e.getMessage());
+            }
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--archive")) {
+            try {
+                ArchiveScanner.main(Arrays.copyOfRange(args, 1, args.length));
+            } catch (Exception e) {
+                System.err.println("Error reading the game archive: " + e.getMessage());
+            }
+            return;
+        }
+        
+        String mode = args.length > 0 ? args[0] : "";
+        // Closing the database writes the results still queued, so it must happen even on an error
+        try (DatabaseManager dbManager = new DatabaseManager();
+             Engine opponent = createOpponent(mode)) {
             // Initialize database manager
-            DatabaseManager dbManager = new DatabaseManager();
             dbManager.connect();
             dbManager.setupTables();
             
@@ -23,7 +77,8 @@ public class Main {
             Game game = new Game(dummyPlayer, dummyPlayer);
             
             // Create the game controller (it will handle authentication and create a new game)
-            GameController controller = new GameController(game);
+            // It shares this database manager rather than opening a second connection
+            GameController controller = new GameController(game, opponent, new Scanner(System.in), System.out, dbManager);
             
             // Start the game
             controller.run();
@@ -33,4 +88,18 @@ public class Main {
             e.printStackTrace();
         }
     }
+
+    /**
+     * Creates the computer opponent chosen on the command line.
+     * @param mode the first argument
+     * @return the engine playing Player 2, or null for two humans
+     */
+    private static Engine createOpponent(String mode) {
+        if (mode.equals("--ai")) {
+            return new LazySmpSearcher();
+        } else if (mode.equals("--mcts")) {
+            return new MctsSearcher();
+        }
+        return null;
+    }
 }
@@ -0,0 +1,352 @@
+package com.junglechess.ai;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.junglechess.game.Game;
+import com.junglechess.game.Move;
+import com.junglechess.model.Player;
+import com.junglechess.model.Position;
+
+/**
+ * Computer opponent using negamax alpha-beta search with iterative deepening.
+ * The search runs on a private copy of the game and only uses
+ * {@link Game#generateMoves(int[])}, {@link Game#makeMove(int)} and {@link Game#unmakeMove()},
+ * so it never builds a board or goes through movePiece.
+ * Moves are ordered by the previous iteration's best move, captures (most valuable victim first),
+ * killer moves and a history table. Leaves are resolved with a capture-only quiescence search.
+ * Results are cached in a {@link TranspositionTable}, so positions reached again through
+ * different move orders are not searched from scratch; several searchers can share one
+ * table as {@link LazySmpSearcher} workers.
+ */
+public class AlphaBetaSearcher implements Engine {
+    public static final int DEFAULT_DEPTH = 8;
+    public static final long DEFAULT_TIME_LIMIT_MILLIS = 1000;
+
+    static final int MAX_PLY = 64;
+    static final int INFINITY = Evaluator.WIN_SCORE + 1000;
+
+    private static final int PV_MOVE_SCORE = 1 << 30;
+    private static final int CAPTURE_SCORE = 1 << 28;
+    private static final int KILLER_SCORE = 1 << 27;
+
+    private final int maxDepth;
+    private final long timeLimitMillis;
+    private final TranspositionTable table;   // May be null
+    private AtomicBoolean stopSignal;          // Shared by Lazy SMP workers, may be null
+    private int depthOffset;                   // Lazy SMP helpers start one ply deeper
+
+    // Per-ply move lists and ordering scores, allocated once per searcher
+    private final int[][] moves = new int[MAX_PLY + 1][Move.MAX_MOVES];
+    private final int[][] orderScores = new int[MAX_PLY + 1][Move.MAX_MOVES];
+    private final int[][] killers = new int[MAX_PLY + 1][2];
+    private final int[] history = new int[1 << 12];
+
+    private Game game;
+    private long nodes;
+    private long deadline;
+    private boolean stopped;
+    private int completedDepth;
+    private int lastScore;
+    private int iterationScore;
+
+    /**
+     * Constructor using the default depth, time limit and table size.
+     */
+    public AlphaBetaSearcher() {
+        this(DEFAULT_DEPTH, DEFAULT_TIME_LIMIT_MILLIS);
+    }
+
+    /**
+     * Constructor to set how deep and how long to search, with a table of the default size.
+     * @param maxDepth the deepest iteration to run, in plies
+     * @param timeLimitMillis the wall-clock budget per move in milliseconds
+     */
+    public AlphaBetaSearcher(int maxDepth, long timeLimitMillis) {
+        this(maxDepth, timeLimitMillis, new TranspositionTable());
+    }
+
+    /**
+     * Constructor to search with a transposition table.
+     * @param maxDepth the deepest iteration to run, in plies
+     * @param timeLimitMillis the wall-clock budget per move in milliseconds
+     * @param table the table caching search results, or null to search without one
+     */
+    public AlphaBetaSearcher(int maxDepth, long timeLimitMillis, TranspositionTable table) {
+        this.maxDepth = Math.min(maxDepth, MAX_PLY - 1);
+        this.timeLimitMillis = timeLimitMillis;
+        this.table = table;
+    }
+
+    /**
+     * Configures this searcher as a Lazy SMP worker.
+     * @param stopSignal flag raised by any worker to stop all of them
+     * @param depthOffset plies added to the first iteration, to spread workers over depths
+     */
+    void joinPool(AtomicBoolean stopSignal, int depthOffset) {
+        this.stopSignal = stopSignal;
+        this.depthOffset = depthOffset;
+    }
+
+    @Override
+    public int chooseMove(Game game) {
+        if (game.isGameOver()) {
+            return Move.NONE;
+        }
+        this.game = new Game(game.getPlayer1(), game.getPlayer2(), game.getPosition());
+        nodes = 0;
+        stopped = false;
+        completedDepth = 0;
+        deadline = System.nanoTime() + timeLimitMillis * 1_000_000L;
+        for (int[] killer : killers) {
+            killer[0] = Move.NONE;
+            killer[1] = Move.NONE;
+        }
+        for (int i = 0; i < history.length; i++) {
+            history[i] >>= 2;
+        }
+        if (table != null && stopSignal == null) {
+            // Lazy SMP workers share a table whose generation is advanced by the pool
+            table.newSearch();
+        }
+
+        int bestMove = Move.NONE;
+        for (int depth = Math.min(1 + depthOffset, maxDepth); depth <= maxDepth; depth++) {
+            int move = searchRoot(depth, bestMove);
+            if (stopped && bestMove != Move.NONE) {
+                break;
+            }
+            bestMove = move;
+            lastScore = iterationScore;
+            completedDepth = depth;
+            if (Math.abs(lastScore) >= Evaluator.WIN_SCORE - MAX_PLY) {
+                // Forced win or loss found, deeper iterations cannot change it
+                break;
+            }
+        }
+        this.game = null;
+        return bestMove;
+    }
+
+    /**
+     * Runs one iteration at the root.
+     * @param depth the iteration depth
+     * @param pvMove the best move of the previous iteration, searched first
+     * @return the best move found
+     */
+    private int searchRoot(int depth, int pvMove) {
+        if (pvMove == Move.NONE && table != null) {
+            pvMove = TranspositionTable.move(table.probe(game.positionKey()));
+        }
+        int[] list = moves[0];
+        int count = game.generateMoves(list);
+        scoreMoves(0, count, pvMove);
+        int alpha = -INFINITY;
+        int bestMove = list[0];
+        for (int i = 0; i < count; i++) {
+            int move = pickNext(0, i, count);
+            game.makeMove(move);
+            int score = game.isGameOver() ? Evaluator.WIN_SCORE - 1 : -negamax(depth - 1, 1, -INFINITY, -alpha);
+            game.unmakeMove();
+            if (stopped) {
+                break;
+            }
+            if (score > alpha) {
+                alpha = score;
+                bestMove = move;
+            }
+        }
+        iterationScore = alpha;
+        if (table != null && !stopped) {
+            table.store(game.positionKey(), bestMove, alpha, depth, TranspositionTable.EXACT);
+        }
+        return bestMove;
+    }
+
+    private int negamax(int depth, int ply, int alpha, int beta) {
+        if (depth <= 0 || ply >= MAX_PLY) {
+            return quiescence(ply, alpha, beta);
+        }
+        if ((++nodes & 1023) == 0 && (System.nanoTime() > deadline || (stopSignal != null && stopSignal.get()))) {
+            stopped = true;
+        }
+        if (stopped) {
+            return 0;
+        }
+
+        // Use a cached result if it was searched deep enough, otherwise try its move first
+        long key = game.positionKey();
+        int tableMove = Move.NONE;
+        if (table != null) {
+            long entry = table.probe(key);
+            if (entry != TranspositionTable.MISS) {
+                tableMove = TranspositionTable.move(entry);
+                if (TranspositionTable.depth(entry) >= depth) {
+                    int score = TranspositionTable.scoreFromTable(TranspositionTable.score(entry), ply);
+                    int bound = TranspositionTable.bound(entry);
+                    if (bound == TranspositionTable.EXACT
+                        || (bound == TranspositionTable.LOWER_BOUND && score >= beta)
+                        || (bound == TranspositionTable.UPPER_BOUND && score <= alpha)) {
+                        return score;
+                    }
+                }
+            }
+        }
+
+        int originalAlpha = alpha;
+        int bestScore = -INFINITY;
+        int bestMove = Move.NONE;
+        int[] list = moves[ply];
+        int count = game.generateMoves(list);
+        scoreMoves(ply, count, tableMove);
+        for (int i = 0; i < count; i++) {
+            int move = pickNext(ply, i, count);
+            boolean capture = isCapture(move);
+            game.makeMove(move);
+            // Every game-ending move wins for the side that played it
+            int score = game.isGameOver() ? Evaluator.WIN_SCORE - ply - 1 : -negamax(depth - 1, ply + 1, -beta, -alpha);
+            game.unmakeMove();
+            if (stopped) {
+                return 0;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+            }
+            if (score >= beta) {
+                if (!capture) {
+                    storeKiller(ply, move);
+                    history[move] += depth * depth;
+                }
+                break;
+            }
+            if (score > alpha) {
+                alpha = score;
+            }
+        }
+
+        if (table != null) {
+            int bound = bestScore >= beta ? TranspositionTable.LOWER_BOUND
+                      : bestScore > originalAlpha ? TranspositionTable.EXACT
+                      : TranspositionTable.UPPER_BOUND;
+            table.store(key, bestMove, TranspositionTable.scoreToTable(bestScore, ply), depth, bound);
+        }
+        return bestScore;
+    }
+
+    private int quiescence(int ply, int alpha, int beta) {
+        nodes++;
+        int standPat = Evaluator.evaluate(game.getPosition());
+        if (standPat >= beta || ply >= MAX_PLY) {
+            return standPat;
+        }
+        if (standPat > alpha) {
+            alpha = standPat;
+        }
+
+        int[] list = moves[ply];
+        int count = game.generateMoves(list);
+        scoreMoves(ply, count, Move.NONE);
+        for (int i = 0; i < count; i++) {
+            int move = pickNext(ply, i, count);
+            if (orderScores[ply][i] < CAPTURE_SCORE) {
+                // Captures are ordered first, nothing tactical is left
+                break;
+            }
+            game.makeMove(move);
+            int score = game.isGameOver() ? Evaluator.WIN_SCORE - ply - 1 : -quiescence(ply + 1, -beta, -alpha);
+            game.unmakeMove();
+            if (score >= beta) {
+                return beta;
+            }
+            if (score > alpha) {
+                alpha = score;
+            }
+        }
+        return alpha;
+    }
+
+    private boolean isCapture(int move) {
+        return game.getPosition().pieceAt(Move.to(move)) != Position.EMPTY;
+    }
+
+    /**
+     * Assigns an ordering score to every move of a ply.
+     */
+    private void scoreMoves(int ply, int count, int pvMove) {
+        int[] list = moves[ply];
+        int[] scores = orderScores[ply];
+        Position position = game.getPosition();
+        for (int i = 0; i < count; i++) {
+            int move = list[i];
+            int victim = position.pieceAt(Move.to(move));
+            if (move == pvMove) {
+                scores[i] = PV_MOVE_SCORE;
+            } else if (victim != Position.EMPTY) {
+                int attacker = position.pieceAt(Move.from(move));
+                scores[i] = CAPTURE_SCORE + Evaluator.pieceValue(Position.rankIndexOf(victim)) * 16
+                          - Evaluator.pieceValue(Position.rankIndexOf(attacker));
+            } else if (move == killers[ply][0] || move == killers[ply][1]) {
+                scores[i] = KILLER_SCORE;
+            } else {
+                scores[i] = Math.min(history[move], KILLER_SCORE - 1);
+            }
+        }
+    }
+
+    /**
+     * Selection sort step: swaps the best remaining move into slot {@code index} and returns it.
+     */
+    private int pickNext(int ply, int index, int count) {
+        int[] list = moves[ply];
+        int[] scores = orderScores[ply];
+        int best = index;
+        for (int i = index + 1; i < count; i++) {
+            if (scores[i] > scores[best]) {
+                best = i;
+            }
+        }
+        int move = list[best];
+        int score = scores[best];
+        list[best] = list[index];
+        scores[best] = scores[index];
+        list[index] = move;
+        scores[index] = score;
+        return move;
+    }
+
+    private void storeKiller(int ply, int move) {
+        if (killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return Player.COMPUTER_NAME;
+    }
+
+    /**
+     * Gets the number of nodes visited by the last search.
+     * @return the node count
+     */
+    public long getNodeCount() {
+        return nodes;
+    }
+
+    /**
+     * Gets the depth of the last fully completed iteration.
+     * @return the completed depth in plies
+     */
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    /**
+     * Gets the score of the last iteration from the mover's point of view.
+     * @return the score in centi-levels, or close to +/-WIN_SCORE for a forced result
+     */
+    public int getLastScore() {
+        return lastScore;
+    }
+}
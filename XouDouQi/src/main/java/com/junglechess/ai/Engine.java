@@ -0,0 +1,31 @@
+package com.junglechess.ai;
+
+import com.junglechess.game.Game;
+
+/**
+ * Interface implemented by computer opponents.
+ * Engines that search on threads of their own stop them in {@link #close()}.
+ */
+public interface Engine extends AutoCloseable {
+    /**
+     * Chooses a move for the side to move.
+     * Implementations must leave the given game unchanged.
+     * @param game the game to pick a move in
+     * @return a legal move packed with {@link com.junglechess.game.Move#encode(int, int)},
+     *         or {@link com.junglechess.game.Move#NONE} if the game is over
+     */
+    int chooseMove(Game game);
+
+    /**
+     * Gets a display name for the engine, shown while it thinks.
+     * @return the engine name
+     */
+    String getName();
+
+    /**
+     * Releases the engine's threads; it must not be used afterwards.
+     */
+    @Override
+    default void close() {
+    }
+}
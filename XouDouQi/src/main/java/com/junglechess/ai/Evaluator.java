@@ -0,0 +1,73 @@
+package com.junglechess.ai;
+
+import com.junglechess.model.Position;
+import com.junglechess.model.Rank;
+
+/**
+ * Static evaluation of Jungle Chess positions.
+ * The score combines material, valued from {@link Rank#getLevel()}, with an
+ * advancement bonus that grows as pieces get closer to the enemy den.
+ */
+public final class Evaluator {
+    /** Score of a won position, before subtracting the distance to the win in plies. */
+    public static final int WIN_SCORE = 100000;
+
+    private static final int LEVEL_VALUE = 100;
+    private static final int RAT_BONUS = 150;         // The Rat threatens the Elephant and controls the river
+    private static final int ADVANCE_WEIGHT = 6;
+    private static final int DEN_ATTACK_BONUS = 60;   // Piece standing next to the enemy den
+
+    private static final int[] PIECE_VALUES = new int[Rank.values().length];
+    // Advancement bonus per side and square, highest next to the enemy den
+    private static final int[][] ADVANCE = new int[2][Position.SQUARE_COUNT];
+
+    static {
+        for (Rank rank : Rank.values()) {
+            PIECE_VALUES[rank.ordinal()] = rank.getLevel() * LEVEL_VALUE + (rank == Rank.RAT ? RAT_BONUS : 0);
+        }
+        int blueDen = Long.numberOfTrailingZeros(Position.BLUE_DEN_MASK);
+        int redDen = Long.numberOfTrailingZeros(Position.RED_DEN_MASK);
+        for (int square = 0; square < Position.SQUARE_COUNT; square++) {
+            ADVANCE[Position.RED][square] = advance(square, blueDen);
+            ADVANCE[Position.BLUE][square] = advance(square, redDen);
+        }
+    }
+
+    private Evaluator() {
+    }
+
+    private static int advance(int square, int den) {
+        int distance = Math.abs(Position.row(square) - Position.row(den))
+                     + Math.abs(Position.column(square) - Position.column(den));
+        int bonus = (Position.ROWS + Position.COLUMNS - distance) * ADVANCE_WEIGHT;
+        return distance == 1 ? bonus + DEN_ATTACK_BONUS : bonus;
+    }
+
+    /**
+     * Gets the material value of a rank.
+     * @param rankIndex the rank index ({@link Rank#ordinal()})
+     * @return the value in centi-levels
+     */
+    public static int pieceValue(int rankIndex) {
+        return PIECE_VALUES[rankIndex];
+    }
+
+    /**
+     * Evaluates a position that is not over.
+     * @param position the position to evaluate
+     * @return the score from the point of view of the side to move; positive is good for it
+     */
+    public static int evaluate(Position position) {
+        int score = 0;
+        long pieces = position.occupied();
+        while (pieces != 0) {
+            int square = Long.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+            int code = position.pieceAt(square);
+            int side = Position.sideOf(code);
+            int value = PIECE_VALUES[Position.rankIndexOf(code)] + ADVANCE[side][square];
+            score += side == Position.RED ? value : -value;
+        }
+        return position.getSideToMove() == Position.RED ? score : -score;
+    }
+}
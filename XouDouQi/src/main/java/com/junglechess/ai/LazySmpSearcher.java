@@ -0,0 +1,161 @@
+package com.junglechess.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.junglechess.game.Game;
+import com.junglechess.game.Move;
+import com.junglechess.model.Player;
+
+/**
+ * Computer opponent running a Lazy SMP parallel search.
+ * Every worker thread runs its own {@link AlphaBetaSearcher} on the same root position;
+ * the workers only communicate through a shared lock-free {@link TranspositionTable},
+ * where results found by one thread cut off work for the others.
+ * Odd-numbered helpers start one ply deeper so the threads spread over depths.
+ * When the time runs out, or a worker completes the maximum depth, all workers stop
+ * and the move of the worker that finished the deepest iteration is played.
+ * The worker threads live as long as the searcher, so close it when done.
+ */
+public class LazySmpSearcher implements Engine {
+    private final int threadCount;
+    private final TranspositionTable table;
+    private final AlphaBetaSearcher[] workers;
+    private final AtomicBoolean stopSignal = new AtomicBoolean();
+    private final ExecutorService pool;
+    private long nodes;
+    private int completedDepth;
+
+    /**
+     * Constructor using one thread per available processor and the default depth and time limit.
+     */
+    public LazySmpSearcher() {
+        this(Runtime.getRuntime().availableProcessors(),
+             AlphaBetaSearcher.DEFAULT_DEPTH, AlphaBetaSearcher.DEFAULT_TIME_LIMIT_MILLIS);
+    }
+
+    /**
+     * Constructor to set the thread count, depth and time limit, with a table of the default size.
+     * @param threadCount the number of worker threads, at least 1
+     * @param maxDepth the deepest iteration to run, in plies
+     * @param timeLimitMillis the wall-clock budget per move in milliseconds
+     */
+    public LazySmpSearcher(int threadCount, int maxDepth, long timeLimitMillis) {
+        this(threadCount, maxDepth, timeLimitMillis, TranspositionTable.DEFAULT_SIZE_MB);
+    }
+
+    /**
+     * Constructor to set the thread count, depth, time limit and shared table size.
+     * @param threadCount the number of worker threads, at least 1
+     * @param maxDepth the deepest iteration to run, in plies
+     * @param timeLimitMillis the wall-clock budget per move in milliseconds
+     * @param tableSizeMb the memory budget of the shared transposition table in megabytes
+     */
+    public LazySmpSearcher(int threadCount, int maxDepth, long timeLimitMillis, int tableSizeMb) {
+        this.threadCount = Math.max(1, threadCount);
+        this.table = new TranspositionTable(tableSizeMb);
+        this.workers = new AlphaBetaSearcher[this.threadCount];
+        for (int i = 0; i < this.threadCount; i++) {
+            workers[i] = new AlphaBetaSearcher(maxDepth, timeLimitMillis, table);
+            workers[i].joinPool(stopSignal, i % 2);
+        }
+        this.pool = Executors.newFixedThreadPool(this.threadCount, runnable -> {
+            Thread thread = new Thread(runnable, "lazy-smp-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public int chooseMove(Game game) {
+        if (game.isGameOver()) {
+            return Move.NONE;
+        }
+        stopSignal.set(false);
+        table.newSearch();
+        List<Future<Integer>> results = new ArrayList<>(threadCount);
+        for (AlphaBetaSearcher worker : workers) {
+            results.add(pool.submit(() -> {
+                int move = worker.chooseMove(game);
+                // The first worker to finish all iterations stops the others
+                stopSignal.set(true);
+                return move;
+            }));
+        }
+
+        int bestMove = Move.NONE;
+        int bestDepth = -1;
+        nodes = 0;
+        for (int i = 0; i < threadCount; i++) {
+            int move = await(results.get(i));
+            AlphaBetaSearcher worker = workers[i];
+            nodes += worker.getNodeCount();
+            if (move != Move.NONE && worker.getCompletedDepth() > bestDepth) {
+                bestDepth = worker.getCompletedDepth();
+                bestMove = move;
+            }
+        }
+        completedDepth = bestDepth;
+        return bestMove;
+    }
+
+    private static int await(Future<Integer> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Move.NONE;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search worker failed", e.getCause());
+        }
+    }
+
+    @Override
+    public String getName() {
+        return Player.COMPUTER_NAME;
+    }
+
+    /**
+     * Stops the worker threads.
+     */
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Gets the number of worker threads.
+     * @return the thread count
+     */
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    /**
+     * Gets the total number of nodes visited by all workers during the last search.
+     * @return the node count
+     */
+    public long getNodeCount() {
+        return nodes;
+    }
+
+    /**
+     * Gets the deepest iteration completed by any worker during the last search.
+     * @return the completed depth in plies
+     */
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    /**
+     * Empties the shared transposition table, e.g. before starting a new game.
+     */
+    public void clearTable() {
+        table.clear();
+    }
+}
@@ -0,0 +1,322 @@
+package com.junglechess.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.junglechess.game.Game;
+import com.junglechess.game.Move;
+import com.junglechess.model.Player;
+import com.junglechess.model.Position;
+
+/**
+ * Computer opponent using Monte Carlo Tree Search with UCT selection.
+ * Worker tasks on a {@link ForkJoinPool} share one tree (tree parallelism): each selects
+ * a path with UCT, expands a leaf, plays a random or light-policy playout and backs
+ * the result up the path. A virtual loss is added to every node on a path while it is
+ * being explored, steering other workers to different branches.
+ * Each worker plays out on its own board-less {@link Game} through makeMove/unmakeMove,
+ * so playouts allocate no Board or Square objects; only expanded tree nodes are allocated.
+ * The search stops when either the playout budget or the time limit is used up, and the
+ * most visited root move is played.
+ * The pool's threads live as long as the searcher, so close it when done.
+ */
+public class MctsSearcher implements Engine {
+    public static final long DEFAULT_TIME_LIMIT_MILLIS = 1000;
+
+    private static final int MAX_PLAYOUT_PLIES = 200;   // Longer playouts count as draws
+    private static final double EXPLORATION = 1.4;
+    private static final double DRAW = 0.5;
+
+    private final int threadCount;
+    private final long maxPlayouts;
+    private final long timeLimitMillis;
+    private final boolean lightPolicy;
+    private final ForkJoinPool pool;
+    private final AtomicLong playouts = new AtomicLong();
+    private volatile long deadline;
+    private long lastPlayouts;
+    private double lastSeconds;
+
+    /**
+     * Constructor using one worker per available processor, the default time limit and light playouts.
+     */
+    public MctsSearcher() {
+        this(Runtime.getRuntime().availableProcessors(), Long.MAX_VALUE, DEFAULT_TIME_LIMIT_MILLIS, true);
+    }
+
+    /**
+     * Constructor to set the parallelism and budget.
+     * @param threadCount the number of worker tasks run in parallel
+     * @param maxPlayouts the playout budget per move, or Long.MAX_VALUE for no limit
+     * @param timeLimitMillis the wall-clock budget per move in milliseconds
+     * @param lightPolicy true to prefer winning moves and captures in playouts, false for uniform random
+     */
+    public MctsSearcher(int threadCount, long maxPlayouts, long timeLimitMillis, boolean lightPolicy) {
+        this.threadCount = Math.max(1, threadCount);
+        this.maxPlayouts = maxPlayouts;
+        this.timeLimitMillis = timeLimitMillis;
+        this.lightPolicy = lightPolicy;
+        this.pool = new ForkJoinPool(this.threadCount);
+    }
+
+    @Override
+    public int chooseMove(Game game) {
+        if (game.isGameOver()) {
+            return Move.NONE;
+        }
+        Node root = new Node(Move.NONE, -1, false);
+        playouts.set(0);
+        long start = System.nanoTime();
+        deadline = start + timeLimitMillis * 1_000_000L;
+
+        List<Future<?>> tasks = new ArrayList<>(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            Worker worker = new Worker(game, root, i);
+            tasks.add(pool.submit(worker::run));
+        }
+        for (Future<?> task : tasks) {
+            try {
+                task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("MCTS worker failed", e.getCause());
+            }
+        }
+        lastPlayouts = playouts.get();
+        lastSeconds = (System.nanoTime() - start) / 1e9;
+
+        // Play the most visited move; it is the most reliable estimate
+        Node best = null;
+        Node[] children = root.children;
+        if (children != null) {
+            for (Node child : children) {
+                if (best == null || child.visits > best.visits) {
+                    best = child;
+                }
+            }
+        }
+        if (best == null) {
+            // Not even the root was expanded; fall back to any legal move
+            int[] moves = new int[Move.MAX_MOVES];
+            return game.generateMoves(moves) > 0 ? moves[0] : Move.NONE;
+        }
+        return best.move;
+    }
+
+    private boolean budgetLeft() {
+        return playouts.get() < maxPlayouts && System.nanoTime() < deadline;
+    }
+
+    /**
+     * One worker task: repeats select, expand, playout and backup on its own game copy.
+     */
+    private final class Worker {
+        private final Game game;
+        private final Node root;
+        private final int[] moves = new int[Move.MAX_MOVES];
+        private final Node[] path = new Node[MAX_PLAYOUT_PLIES + 1];
+        private final SplittableRandom random;
+
+        Worker(Game source, Node root, int id) {
+            this.game = new Game(source.getPlayer1(), source.getPlayer2(), source.getPosition());
+            this.root = root;
+            this.random = new SplittableRandom(System.nanoTime() + id * 0x9E3779B97F4A7C15L);
+        }
+
+        void run() {
+            while (budgetLeft()) {
+                playOnce();
+                playouts.incrementAndGet();
+            }
+        }
+
+        private void playOnce() {
+            // Selection: follow UCT through expanded nodes, adding virtual losses
+            int length = 0;
+            Node node = root;
+            path[length++] = node;
+            while (node.children != null && !node.terminal && length < path.length) {
+                node = select(node);
+                node.addVirtualLoss();
+                game.makeMove(node.move);
+                path[length++] = node;
+            }
+
+            // Expansion and simulation
+            int winner;
+            if (node.terminal) {
+                winner = node.moverSide;
+            } else {
+                if (node == root || node.visits > 0) {
+                    node.expand(game, moves);
+                    Node[] children = node.children;
+                    if (children != null && children.length > 0 && length < path.length) {
+                        node = children[random.nextInt(children.length)];
+                        node.addVirtualLoss();
+                        game.makeMove(node.move);
+                        path[length++] = node;
+                    }
+                }
+                winner = node.terminal ? node.moverSide : playout();
+            }
+
+            // Backup: every node is scored for the side whose move led to it
+            for (int i = length - 1; i >= 0; i--) {
+                Node visited = path[i];
+                double reward = winner < 0 ? DRAW : winner == visited.moverSide ? 1.0 : 0.0;
+                visited.update(reward, i > 0);
+                if (i > 0) {
+                    game.unmakeMove();
+                }
+            }
+        }
+
+        /**
+         * Plays random or light-policy moves until the game ends or the ply limit is hit.
+         * @return the winning side, or -1 for a draw
+         */
+        private int playout() {
+            int plies = 0;
+            while (!game.isGameOver() && plies < MAX_PLAYOUT_PLIES) {
+                int count = game.generateMoves(moves);
+                game.makeMove(lightPolicy ? pickLight(count) : moves[random.nextInt(count)]);
+                plies++;
+            }
+            int winner = game.getWinnerSide();
+            for (int i = 0; i < plies; i++) {
+                game.unmakeMove();
+            }
+            return winner;
+        }
+
+        /**
+         * Light playout policy: enter the enemy den when possible, otherwise
+         * take a random capture half of the time, otherwise a random move.
+         */
+        private int pickLight(int count) {
+            Position position = game.getPosition();
+            long enemyDen = position.getSideToMove() == Position.RED ? Position.BLUE_DEN_MASK : Position.RED_DEN_MASK;
+            int captures = 0;
+            for (int i = 0; i < count; i++) {
+                int move = moves[i];
+                if ((Position.bit(Move.to(move)) & enemyDen) != 0) {
+                    return move;
+                }
+                if (position.pieceAt(Move.to(move)) != Position.EMPTY) {
+                    // Gather captures at the front of the buffer
+                    moves[i] = moves[captures];
+                    moves[captures++] = move;
+                }
+            }
+            if (captures > 0 && random.nextBoolean()) {
+                return moves[random.nextInt(captures)];
+            }
+            return moves[random.nextInt(count)];
+        }
+
+        private Node select(Node node) {
+            Node[] children = node.children;
+            double logVisits = Math.log(Math.max(1, node.visits + node.virtualLoss));
+            Node best = children[0];
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (Node child : children) {
+                int visits = child.visits + child.virtualLoss;
+                if (visits == 0) {
+                    return child;
+                }
+                // Virtual losses count as visits without wins
+                double value = child.wins / visits + EXPLORATION * Math.sqrt(logVisits / visits);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+            return best;
+        }
+    }
+
+    /**
+     * Search tree node. Statistics are written under the node's lock and read without it.
+     */
+    private static final class Node {
+        final int move;
+        final int moverSide;      // Side that played the move leading here, -1 for the root
+        final boolean terminal;   // The move leading here ended the game
+        volatile Node[] children;
+        volatile int visits;
+        volatile int virtualLoss;
+        volatile double wins;
+
+        Node(int move, int moverSide, boolean terminal) {
+            this.move = move;
+            this.moverSide = moverSide;
+            this.terminal = terminal;
+        }
+
+        synchronized void addVirtualLoss() {
+            virtualLoss++;
+        }
+
+        synchronized void update(double reward, boolean removeVirtualLoss) {
+            visits++;
+            wins += reward;
+            if (removeVirtualLoss) {
+                virtualLoss--;
+            }
+        }
+
+        /**
+         * Creates the children of this node once; concurrent callers wait for the first one.
+         */
+        synchronized void expand(Game game, int[] buffer) {
+            if (children != null) {
+                return;
+            }
+            int side = game.getPosition().getSideToMove();
+            int count = game.generateMoves(buffer);
+            Node[] created = new Node[count];
+            for (int i = 0; i < count; i++) {
+                game.makeMove(buffer[i]);
+                created[i] = new Node(buffer[i], side, game.isGameOver());
+                game.unmakeMove();
+            }
+            children = created;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return Player.COMPUTER_NAME;
+    }
+
+    /**
+     * Stops the worker pool.
+     */
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Gets the number of playouts run by the last search.
+     * @return the playout count
+     */
+    public long getPlayoutCount() {
+        return lastPlayouts;
+    }
+
+    /**
+     * Gets the playout throughput of the last search.
+     * @return playouts per second
+     */
+    public double getPlayoutsPerSecond() {
+        return lastSeconds > 0 ? lastPlayouts / lastSeconds : 0;
+    }
+}
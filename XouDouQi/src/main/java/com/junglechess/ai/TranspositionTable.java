@@ -0,0 +1,219 @@
+package com.junglechess.ai;
+
+import java.util.Arrays;
+
+import com.junglechess.game.Move;
+
+/**
+ * Lock-free, fixed-size cache of search results keyed by a 64-bit position hash.
+ * Entries live in two preallocated {@code long[]} arrays: one holds the packed result,
+ * the other the position key XORed with that result. A reader accepts an entry only
+ * if the XOR matches its key, so entries torn by concurrent writers are simply
+ * treated as misses and many threads can share one table without locks.
+ * <p>
+ * Slots are grouped in buckets of two. The first slot is depth-preferred: it keeps the
+ * deepest result unless that result is from an older search. The second slot is
+ * always replaced, so recent shallow results are still cached.
+ */
+public class TranspositionTable {
+    /** Value returned by {@link #probe(long)} when nothing is stored for a key. */
+    public static final long MISS = 0L;
+
+    public static final int EXACT = 1;
+    public static final int LOWER_BOUND = 2;
+    public static final int UPPER_BOUND = 3;
+
+    public static final int DEFAULT_SIZE_MB = 16;
+
+    // Each slot is one key word and one entry word; each bucket holds two slots
+    private static final int BYTES_PER_BUCKET = 2 * 2 * Long.BYTES;
+
+    // Packed entry layout: move + 1 (bits 0-15), score (bits 16-47), depth (bits 48-55),
+    // bound (bits 56-57) and search generation (bits 58-63)
+    private static final int SCORE_SHIFT = 16;
+    private static final int DEPTH_SHIFT = 48;
+    private static final int BOUND_SHIFT = 56;
+    private static final int GENERATION_SHIFT = 58;
+    private static final int GENERATION_MASK = 63;
+
+    private final long[] keys;
+    private final long[] entries;
+    private final int bucketMask;
+    private int generation;
+
+    /**
+     * Constructor to allocate a table of the default size.
+     */
+    public TranspositionTable() {
+        this(DEFAULT_SIZE_MB);
+    }
+
+    /**
+     * Constructor to allocate a table within a memory budget.
+     * The bucket count is the largest power of two that fits in the budget.
+     * @param sizeMb the memory budget in megabytes, at least 1
+     */
+    public TranspositionTable(int sizeMb) {
+        long budget = Math.max(1, sizeMb) * 1024L * 1024L;
+        int buckets = (int) Long.highestOneBit(Math.min(budget / BYTES_PER_BUCKET, 1L << 28));
+        this.keys = new long[buckets * 2];
+        this.entries = new long[buckets * 2];
+        this.bucketMask = buckets - 1;
+    }
+
+    /**
+     * Starts a new search generation.
+     * Depth-preferred slots written by earlier searches become replaceable.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & GENERATION_MASK;
+    }
+
+    /**
+     * Looks up the entry stored for a position.
+     * @param key the position key
+     * @return the packed entry, or {@link #MISS}
+     */
+    public long probe(long key) {
+        int slot = ((int) key & bucketMask) << 1;
+        long entry = entries[slot];
+        if ((keys[slot] ^ entry) == key) {
+            return entry;
+        }
+        entry = entries[slot + 1];
+        return (keys[slot + 1] ^ entry) == key ? entry : MISS;
+    }
+
+    /**
+     * Stores a search result.
+     * The depth-preferred slot takes it if that slot holds the same position, a shallower
+     * result or a result from an older search; otherwise the always-replace slot does.
+     * @param key the position key
+     * @param move the best move found, or {@link Move#NONE}
+     * @param score the score from the side to move's point of view
+     * @param depth the remaining depth the score was searched to
+     * @param bound EXACT, LOWER_BOUND or UPPER_BOUND
+     */
+    public void store(long key, int move, int score, int depth, int bound) {
+        int slot = ((int) key & bucketMask) << 1;
+        long entry = ((move + 1) & 0xFFFFL)
+                   | ((score & 0xFFFFFFFFL) << SCORE_SHIFT)
+                   | ((long) (depth & 0xFF) << DEPTH_SHIFT)
+                   | ((long) bound << BOUND_SHIFT)
+                   | ((long) generation << GENERATION_SHIFT);
+
+        long preferred = entries[slot];
+        boolean samePosition = (keys[slot] ^ preferred) == key;
+        if (!samePosition && depth(preferred) > depth && generation(preferred) == generation) {
+            // Keep the deeper result and use the always-replace slot
+            slot++;
+        }
+        entries[slot] = entry;
+        keys[slot] = key ^ entry;
+    }
+
+    /**
+     * Empties the table.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(entries, 0L);
+        generation = 0;
+    }
+
+    /**
+     * Estimates how full the table is with results of the current search.
+     * @return the number of used slots per thousand, sampled from the first buckets
+     */
+    public int hashfull() {
+        int sample = Math.min(1000, entries.length);
+        int used = 0;
+        for (int i = 0; i < sample; i++) {
+            if (entries[i] != MISS && generation(entries[i]) == generation) {
+                used++;
+            }
+        }
+        return used * 1000 / sample;
+    }
+
+    /**
+     * Gets the number of slots in the table.
+     * @return the slot count (two per bucket)
+     */
+    public int capacity() {
+        return entries.length;
+    }
+
+    /**
+     * Gets the best move of a packed entry.
+     * @param entry the packed entry
+     * @return the move, or {@link Move#NONE}
+     */
+    public static int move(long entry) {
+        return (int) (entry & 0xFFFF) - 1;
+    }
+
+    /**
+     * Gets the score of a packed entry.
+     * @param entry the packed entry
+     * @return the stored score
+     */
+    public static int score(long entry) {
+        return (int) (entry >>> SCORE_SHIFT);
+    }
+
+    /**
+     * Gets the search depth of a packed entry.
+     * @param entry the packed entry
+     * @return the remaining depth the score was searched to
+     */
+    public static int depth(long entry) {
+        return (int) (entry >>> DEPTH_SHIFT) & 0xFF;
+    }
+
+    /**
+     * Gets the bound type of a packed entry.
+     * @param entry the packed entry
+     * @return EXACT, LOWER_BOUND or UPPER_BOUND
+     */
+    public static int bound(long entry) {
+        return (int) (entry >>> BOUND_SHIFT) & 3;
+    }
+
+    /**
+     * Converts a win score relative to the root into one relative to the current node,
+     * so cached wins stay correct when reached through a different path length.
+     * @param score the score from the search, counting plies from the root
+     * @param ply the distance of the node from the root
+     * @return the score to store
+     */
+    public static int scoreToTable(int score, int ply) {
+        if (score >= Evaluator.WIN_SCORE - AlphaBetaSearcher.MAX_PLY) {
+            return score + ply;
+        }
+        if (score <= -Evaluator.WIN_SCORE + AlphaBetaSearcher.MAX_PLY) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    /**
+     * Converts a stored score back to one relative to the root; the inverse of {@link #scoreToTable}.
+     * @param score the stored score
+     * @param ply the distance of the node from the root
+     * @return the score for the search
+     */
+    public static int scoreFromTable(int score, int ply) {
+        if (score >= Evaluator.WIN_SCORE - AlphaBetaSearcher.MAX_PLY) {
+            return score - ply;
+        }
+        if (score <= -Evaluator.WIN_SCORE + AlphaBetaSearcher.MAX_PLY) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    private static int generation(long entry) {
+        return (int) (entry >>> GENERATION_SHIFT) & GENERATION_MASK;
+    }
+}
@@ -0,0 +1,5 @@
+package com.junglechess.ai;
+
+/**
+ * Package for computer opponents searching the game tree
+ */
@@ -1,9 +1,12 @@
 package com.junglechess.controller;
 
+import java.io.PrintStream;
 import java.util.Scanner;
 
+import com.junglechess.ai.Engine;
 import com.junglechess.db.DatabaseManager;
 import com.junglechess.game.Game;
+import com.junglechess.game.Move;
 import com.junglechess.model.Player;
 import com.junglechess.view.ConsoleView;
 
@@ -14,21 +17,72 @@ import com.junglechess.view.ConsoleView;
 public class GameController {
     private Game game;
     private Scanner scanner;
-    private DatabaseManager dbManager;    /**
+    private DatabaseManager dbManager;
+    private Engine opponent; // Computer playing as Player 2, or null for two humans
+    private final PrintStream out;
+    private final boolean ownsDatabase; // Connect and close the database here, unless a session server shares it
+
+    /**
      * Constructor to initialize the GameController with a Game instance.
      * @param game the game instance to control
      */
     public GameController(Game game) {
+        this(game, null);
+    }
+
+    /**
+     * Constructor to initialize the GameController with a computer opponent as Player 2.
+     * @param game the game instance to control
+     * @param opponent the engine playing the Blue pieces, or null for a human Player 2
+     */
+    public GameController(Game game, Engine opponent) {
+        this(game, opponent, new Scanner(System.in), System.out, new DatabaseManager(), true);
+    }
+
+    /**
+     * Constructor for a session with its own input and output, e.g. a network client.
+     * The database manager must already be connected and is left open after the game.
+     * @param game the game instance to control
+     * @param opponent the engine playing the Blue pieces, or null for a human Player 2
+     * @param scanner the source of the players' commands
+     * @param out the stream all of the session's output goes to
+     * @param dbManager the connected database manager, shared with other sessions
+     */
+    public GameController(Game game, Engine opponent, Scanner scanner, PrintStream out, DatabaseManager dbManager) {
+        this(game, opponent, scanner, out, dbManager.withOutput(out), false);
+    }
+
+    private GameController(Game game, Engine opponent, Scanner scanner, PrintStream out,
+                           DatabaseManager dbManager, boolean ownsDatabase) {
         this.game = game;
-        this.scanner = new Scanner(System.in);
-        this.dbManager = new DatabaseManager();
+        this.opponent = opponent;
+        this.scanner = scanner;
+        this.out = out;
+        this.dbManager = dbManager;
+        this.ownsDatabase = ownsDatabase;
     }    /**
      * Main game loop that runs the entire game session.
      */
     public void run() {
+        // Console output on this thread goes to the session's stream
+        ConsoleView.setOutput(out);
+        try {
+            play();
+        } finally {
+            ConsoleView.setOutput(null);
+            // Queued game results are only written once the database is closed
+            if (ownsDatabase) {
+                dbManager.close();
+            }
+        }
+    }
+
+    private void play() {
         // Initialize database
-        dbManager.connect();
-        dbManager.setupTables();
+        if (ownsDatabase) {
+            dbManager.connect();
+            dbManager.setupTables();
+        }
         
         // Display welcome message
         displayWelcomeMessage();
@@ -36,13 +90,14 @@ public class GameController {
         // Player authentication
         Player player1 = authenticatePlayer("Player 1");
         if (player1 == null) {
-            System.out.println("Authentication failed for Player 1. Exiting...");
+            out.println("Authentication failed for Player 1. Exiting...");
             return;
         }
         
-        Player player2 = authenticatePlayer("Player 2");
+        // The computer plays under a name no account can have, so its results never mix with a human's
+        Player player2 = opponent != null ? new Player(Player.COMPUTER_NAME) : authenticatePlayer("Player 2");
         if (player2 == null) {
-            System.out.println("Authentication failed for Player 2. Exiting...");
+            out.println("Authentication failed for Player 2. Exiting...");
             return;
         }
         
@@ -50,7 +105,7 @@ public class GameController {
         game = new Game(player1, player2);
         
         // Display player statistics
-        System.out.println("\n=== PLAYER STATISTICS ===");
+        out.println("\n=== PLAYER STATISTICS ===");
         dbManager.getPlayerHistory(player1.getName());
         dbManager.getPlayerHistory(player2.getName());          ConsoleView.showMessage(">>> Starting epic jungle battle: " + player1.getName().toUpperCase() + " [R] vs " + player2.getName().toUpperCase() + " [B]");
         ConsoleView.showMessage(">>> May the best strategist win!");
@@ -61,6 +116,12 @@ public class GameController {
             ConsoleView.displayBoard(game.getBoard());
             ConsoleView.displayCurrentPlayer(game.getCurrentPlayer());
             
+            // Let the computer play its own turns
+            if (opponent != null && game.getCurrentPlayer() == player2) {
+                playComputerMove();
+                continue;
+            }
+            
             // Prompt for input with enhanced formatting
             ConsoleView.displayInputPrompt();
             String input = scanner.nextLine().trim();
@@ -76,16 +137,16 @@ public class GameController {
             ConsoleView.displayBoard(game.getBoard());
             
             // Determine winner and loser
-            Player winner = game.getCurrentPlayer();
+            Player winner = game.getWinner();
             Player loser = (winner == game.getPlayer1()) ? game.getPlayer2() : game.getPlayer1();
             
-            ConsoleView.displayGameOver(winner);
+            ConsoleView.displayGameOver(winner, game.getWinReason().getDescription());
             
             // Save game result to database
-            dbManager.saveGameResult(winner, loser);
+            dbManager.saveGameResult(winner, loser, game);
             
             // Display updated statistics
-            System.out.println("\n=== UPDATED STATISTICS ===");
+            out.println("\n=== UPDATED STATISTICS ===");
             dbManager.getPlayerHistory(winner.getName());
             dbManager.getPlayerHistory(loser.getName());
         } else {
@@ -93,26 +154,25 @@ public class GameController {
         }
         
         // Clean up
-        dbManager.close();
         scanner.close();
     }    /**
      * Displays the welcome message and initial instructions.
      */
-    private void displayWelcomeMessage() {        System.out.println();
-        System.out.println("=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*");
-        System.out.println("+======================================================================+");
-        System.out.println("|                    *** WELCOME TO XOU DOU QI ***                   |");
-        System.out.println("|                        *** JUNGLE CHESS ***                        |");
-        System.out.println("|                                                                      |");
-        System.out.println("|  [!] Battle in the jungle with powerful animals!                    |");
-        System.out.println("|  [>] Goal: Enter your opponent's sanctuary to win!                  |");
-        System.out.println("|  [*] Strategy: Use traps, rivers, and animal powers wisely!         |");
-        System.out.println("+======================================================================+");
-        System.out.println("=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*");
-        System.out.println();
-        System.out.println(">>> Game Setup Complete! <<<");
-        System.out.println(">>> Type 'help' at any time to see instructions.");
-        System.out.println();
+    private void displayWelcomeMessage() {        out.println();
+        out.println("=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*");
+        out.println("+======================================================================+");
+        out.println("|                    *** WELCOME TO XOU DOU QI ***                   |");
+        out.println("|                        *** JUNGLE CHESS ***                        |");
+        out.println("|                                                                      |");
+        out.println("|  [!] Battle in the jungle with powerful animals!                    |");
+        out.println("|  [>] Goal: Enter your opponent's sanctuary to win!                  |");
+        out.println("|  [*] Strategy: Use traps, rivers, and animal powers wisely!         |");
+        out.println("+======================================================================+");
+        out.println("=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*=*");
+        out.println();
+        out.println(">>> Game Setup Complete! <<<");
+        out.println(">>> Type 'help' at any time to see instructions.");
+        out.println();
         
         // Display the enhanced legend once at startup
         ConsoleView.displayGameLegend();
@@ -142,6 +202,9 @@ public class GameController {
             case "move":
                 return handleMoveCommand(tokens);
 
+            case "undo":
+                return handleUndoCommand();
+
             default:
                 ConsoleView.showMessage("Unknown command: " + command);
                 ConsoleView.showMessage("Type 'help' to see available commands.");
@@ -152,15 +215,15 @@ public class GameController {
      * @return false to quit the game, true to continue
      */
     private boolean handleQuitCommand() {
-        System.out.println();
-        System.out.print("Are you sure you want to quit? (y/n): ");
+        out.println();
+        out.print("Are you sure you want to quit? (y/n): ");
         String confirmation = scanner.nextLine().trim().toLowerCase();
         
         if (confirmation.equals("y") || confirmation.equals("yes")) {
-            System.out.println("Thanks for playing Jungle Chess!");
+            out.println("Thanks for playing Jungle Chess!");
             return false; // Quit the game
         } else {
-            System.out.println("Continuing game...");
+            out.println("Continuing game...");
             return true; // Continue the game
         }
     }    /**
@@ -170,9 +233,9 @@ public class GameController {
      */
     private boolean handleMoveCommand(String[] tokens) {
         if (tokens.length != 3) {
-            System.out.println();
-            System.out.println("Invalid move format. Use: move <from> <to>");
-            System.out.println("Example: move A1 A2");
+            out.println();
+            out.println("Invalid move format. Use: move <from> <to>");
+            out.println("Example: move A1 A2");
             return true;
         }
 
@@ -184,9 +247,9 @@ public class GameController {
         int[] toCoords = parseCoordinates(toStr);
 
         if (fromCoords == null || toCoords == null) {
-            System.out.println();
-            System.out.println("Invalid coordinates. Use format like A1, B2, etc.");
-            System.out.println("Columns: A-G, Rows: 1-9");
+            out.println();
+            out.println("Invalid coordinates. Use format like A1, B2, etc.");
+            out.println("Columns: A-G, Rows: 1-9");
             return true;
         }
 
@@ -214,6 +277,34 @@ public class GameController {
         return true;
     }
 
+    /**
+     * Asks the computer opponent for a move and plays it.
+     */
+    private void playComputerMove() {
+        ConsoleView.showMessage(">>> " + opponent.getName() + " is thinking...");
+        int move = opponent.chooseMove(game);
+        game.makeMove(move);
+        String[] coordinates = Move.toString(move).split(" ");
+        ConsoleView.displayMoveSuccess(coordinates[0], coordinates[1]);
+    }
+
+    /**
+     * Handles the undo command by taking back the last move played.
+     * @return true to continue the game
+     */
+    private boolean handleUndoCommand() {
+        // Against the computer, take back its reply as well as the player's own move
+        if (opponent != null && game.getCurrentPlayer() != game.getPlayer2()) {
+            game.unmakeMove();
+        }
+        if (game.unmakeMove()) {
+            ConsoleView.showMessage("Last move undone. " + game.getCurrentPlayer().getName() + " to play.");
+        } else {
+            ConsoleView.showMessage("There is no move to undo.");
+        }
+        return true;
+    }
+
     /**
      * Parses coordinate string (e.g., "A1") into row and column indices.
      * @param coordStr the coordinate string to parse
@@ -248,22 +339,22 @@ public class GameController {
      * @return authenticated Player object or null if authentication fails
      */
     private Player authenticatePlayer(String playerLabel) {
-        System.out.println("\n=== " + playerLabel + " Authentication ===");
+        out.println("\n=== " + playerLabel + " Authentication ===");
         
         while (true) {
-            System.out.print("Do you want to (L)ogin or (C)reate a new account? (L/C): ");
+            out.print("Do you want to (L)ogin or (C)reate a new account? (L/C): ");
             String choice = scanner.nextLine().trim().toLowerCase();
             
             if (choice.equals("l") || choice.equals("login")) {
                 return handleLogin();
             } else if (choice.equals("c") || choice.equals("create")) {
                 if (handleCreateAccount()) {
-                    System.out.println("Account created! Now please log in with your new credentials.");
+                    out.println("Account created! Now please log in with your new credentials.");
                     return handleLogin();
                 }
                 // If account creation failed, continue the loop
             } else {
-                System.out.println("Please enter 'L' for login or 'C' to create account.");
+                out.println("Please enter 'L' for login or 'C' to create account.");
             }
         }
     }
@@ -273,10 +364,10 @@ public class GameController {
      * @return Player object if login successful, null otherwise
      */
     private Player handleLogin() {
-        System.out.print("Enter your username: ");
+        out.print("Enter your username: ");
         String username = scanner.nextLine().trim();
         
-        System.out.print("Enter password: ");
+        out.print("Enter password: ");
         String password = scanner.nextLine().trim();
         
         return dbManager.loginPlayer(username, password);
@@ -287,19 +378,19 @@ public class GameController {
      * @return true if account created successfully, false otherwise
      */
     private boolean handleCreateAccount() {
-        System.out.print("Choose a username: ");
+        out.print("Choose a username: ");
         String username = scanner.nextLine().trim();
         
         if (username.isEmpty()) {
-            System.out.println("Username cannot be empty.");
+            out.println("Username cannot be empty.");
             return false;
         }
         
-        System.out.print("Choose a password: ");
+        out.print("Choose a password: ");
         String password = scanner.nextLine().trim();
         
         if (password.isEmpty()) {
-            System.out.println("Password cannot be empty.");
+            out.println("Password cannot be empty.");
             return false;
         }
         
@@ -0,0 +1,179 @@
+package com.junglechess.controller;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import com.junglechess.ai.AlphaBetaSearcher;
+import com.junglechess.ai.Engine;
+import com.junglechess.ai.MctsSearcher;
+import com.junglechess.db.DatabaseManager;
+import com.junglechess.game.Game;
+import com.junglechess.game.Move;
+import com.junglechess.game.WinReason;
+import com.junglechess.model.Player;
+import com.junglechess.model.Position;
+
+/**
+ * Plays complete games without any console input or output, for throughput measurements.
+ * Games run on board-less {@link Game} instances through generateMoves/makeMove, with
+ * moves picked at random or by an {@link Engine}. Games that reach the ply limit count as draws.
+ * After the run it reports games per second, moves per second and how the games ended.
+ * Decided games can also be saved to a database with their moves, as a load test of result recording,
+ * and appended to a game archive.
+ * <p>
+ * Usage: {@code HeadlessRunner <games> [random|alphabeta|mcts] [maxPlies] [databaseFile] [archiveFile]}
+ */
+public class HeadlessRunner {
+    public static final int DEFAULT_MAX_PLIES = 300;
+
+    // Engine games start with a few random moves so that they do not all repeat the same game
+    private static final int RANDOM_OPENING_PLIES = 4;
+
+    private final Engine engine;
+    private final int maxPlies;
+    private final SplittableRandom random;
+    private final Player red = new Player("Red");
+    private final Player blue = new Player("Blue");
+    private final int[] moves = new int[Move.MAX_MOVES];
+    private DatabaseManager database;
+
+    private final long[][] wins = new long[2][WinReason.values().length];
+    private long draws;
+    private long games;
+    private long totalMoves;
+    private long elapsedNanos;
+
+    /**
+     * Constructor for a runner.
+     * @param engine the engine choosing moves for both sides, or null to play random moves
+     * @param maxPlies the ply limit after which a game is scored as a draw
+     * @param seed the seed of the random move choices
+     */
+    public HeadlessRunner(Engine engine, int maxPlies, long seed) {
+        this.engine = engine;
+        this.maxPlies = maxPlies;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Saves the result of every decided game from now on.
+     * @param database the connected database manager, or null to stop saving
+     */
+    public void setDatabase(DatabaseManager database) {
+        this.database = database;
+    }
+
+    /**
+     * Plays a number of complete games from the starting position and adds them to the totals.
+     * @param count the number of games to play
+     */
+    public void run(int count) {
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            playGame();
+        }
+        elapsedNanos += System.nanoTime() - start;
+    }
+
+    private void playGame() {
+        Game game = new Game(red, blue, Position.initial());
+        int plies = 0;
+        while (!game.isGameOver() && plies < maxPlies) {
+            int move;
+            if (engine == null || plies < RANDOM_OPENING_PLIES) {
+                int count = game.generateMoves(moves);
+                move = moves[random.nextInt(count)];
+            } else {
+                move = engine.chooseMove(game);
+            }
+            game.makeMove(move);
+            plies++;
+        }
+        games++;
+        totalMoves += plies;
+        if (game.isGameOver()) {
+            wins[game.getWinnerSide()][game.getWinReason().ordinal()]++;
+            if (database != null) {
+                Player winner = game.getWinner();
+                database.saveGameResult(winner, winner == red ? blue : red, game);
+            }
+        } else {
+            draws++;
+        }
+    }
+
+    /**
+     * Prints the throughput and outcome distribution of all games played so far.
+     */
+    public void printReport() {
+        double seconds = elapsedNanos / 1e9;
+        System.out.println("Games: " + games + ", moves: " + totalMoves);
+        System.out.println(String.format("Time: %.3f s", seconds));
+        System.out.println(String.format("Games/second: %.1f", games / Math.max(seconds, 1e-9)));
+        System.out.println(String.format("Moves/second: %.0f", totalMoves / Math.max(seconds, 1e-9)));
+        System.out.println(String.format("Average game length: %.1f plies", (double) totalMoves / Math.max(games, 1)));
+        System.out.println();
+        System.out.println("Outcomes:");
+        for (int side = 0; side < 2; side++) {
+            String name = side == Position.RED ? "Red" : "Blue";
+            for (WinReason reason : WinReason.values()) {
+                printOutcome(name + " wins, " + reason.getDescription(), wins[side][reason.ordinal()]);
+            }
+        }
+        printOutcome("Draw (ply limit)", draws);
+    }
+
+    private void printOutcome(String label, long count) {
+        System.out.println(String.format("  %-50s %8d %6.1f%%", label, count, 100.0 * count / Math.max(games, 1)));
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Usage: HeadlessRunner <games> [random|alphabeta|mcts] [maxPlies] [databaseFile] [archiveFile]");
+            return;
+        }
+        int count = Integer.parseInt(args[0]);
+        String mode = args.length > 1 ? args[1] : "random";
+        int maxPlies = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_MAX_PLIES;
+        Engine engine;
+        if (mode.equals("alphabeta")) {
+            engine = new AlphaBetaSearcher(2, AlphaBetaSearcher.DEFAULT_TIME_LIMIT_MILLIS);
+        } else if (mode.equals("mcts")) {
+            engine = new MctsSearcher(1, 200, MctsSearcher.DEFAULT_TIME_LIMIT_MILLIS, true);
+        } else {
+            engine = null;
+        }
+
+        System.out.println("=== HEADLESS SIMULATION (" + mode + ", " + count + " games) ===");
+        HeadlessRunner runner = new HeadlessRunner(engine, maxPlies, System.nanoTime());
+        DatabaseManager database = null;
+        if (args.length > 3) {
+            // Results are saved quietly, without a message per game
+            database = new DatabaseManager("jdbc:sqlite:" + args[3])
+                .withOutput(new PrintStream(OutputStream.nullOutputStream()));
+            if (args.length > 4) {
+                database.openArchive(Path.of(args[4]));
+            }
+            database.connect();
+            database.setupTables();
+            runner.setDatabase(database);
+        }
+        try {
+            runner.run(count);
+        } finally {
+            if (engine != null) {
+                engine.close();
+            }
+            // Write the queued results even if a game failed
+            if (database != null) {
+                long start = System.nanoTime();
+                database.close();
+                System.out.println(String.format("Results written to %s, final flush %.1f ms",
+                    args[3], (System.nanoTime() - start) / 1e6));
+            }
+        }
+        runner.printReport();
+    }
+}
@@ -0,0 +1,153 @@
+package com.junglechess.db;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import com.junglechess.game.BoardGeometry;
+import com.junglechess.game.Game;
+import com.junglechess.game.Move;
+import com.junglechess.game.MoveRecord;
+import com.junglechess.game.WinReason;
+import com.junglechess.model.Player;
+import com.junglechess.model.Position;
+
+/**
+ * Writes and scans {@link GameArchive} files, to measure how fast an archive can be analysed.
+ * <p>
+ * {@code ArchiveScanner generate <file> <games>} appends random games to an archive. To keep
+ * generation fast, a pool of random games is played once and written repeatedly under
+ * different player names and times.
+ * <p>
+ * {@code ArchiveScanner scan <file> [threads]} reads every game, decoding every move, with each
+ * thread scanning its own range of game numbers, and reports games and moves per second.
+ */
+public class ArchiveScanner {
+    private static final int GAME_POOL_SIZE = 1024;
+    private static final int GAMES_PER_CHUNK = 4096;
+    private static final int PLAYERS = 1000;
+    private static final int MAX_PLIES = 300;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2 || !(args[0].equals("generate") && args.length > 2 || args[0].equals("scan"))) {
+            System.out.println("Usage: ArchiveScanner generate <file> <games>");
+            System.out.println("       ArchiveScanner scan <file> [threads]");
+            return;
+        }
+        Path file = Path.of(args[1]);
+        if (args[0].equals("generate")) {
+            generate(file, Long.parseLong(args[2]));
+        } else {
+            int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+            scan(file, threads);
+        }
+    }
+
+    private static void generate(Path file, long count) throws IOException {
+        Player red = new Player("Red");
+        Player blue = new Player("Blue");
+        SplittableRandom random = new SplittableRandom(1);
+        int[] moves = new int[Move.MAX_MOVES];
+        Game[] pool = new Game[GAME_POOL_SIZE];
+        byte[][] records = new byte[GAME_POOL_SIZE][];
+        for (int i = 0; i < GAME_POOL_SIZE; i++) {
+            // Only decided games are saved, as in play
+            do {
+                pool[i] = new Game(red, blue, Position.initial());
+                while (!pool[i].isGameOver() && pool[i].getMoveCount() < MAX_PLIES) {
+                    pool[i].makeMove(moves[random.nextInt(pool[i].generateMoves(moves))]);
+                }
+            } while (!pool[i].isGameOver());
+            records[i] = MoveRecord.encode(pool[i]);
+        }
+        String[] names = new String[PLAYERS];
+        for (int i = 0; i < PLAYERS; i++) {
+            names[i] = "player" + i;
+        }
+
+        long start = System.nanoTime();
+        long time = System.currentTimeMillis();
+        try (GameArchiveWriter writer = GameArchiveWriter.open(file)) {
+            for (long i = 0; i < count; i++) {
+                int game = (int) (i % GAME_POOL_SIZE);
+                int winner = random.nextInt(PLAYERS);
+                int loser = (winner + 1 + random.nextInt(PLAYERS - 1)) % PLAYERS;
+                writer.add(time + i, pool[game].getWinnerSide(), pool[game].getWinReason(),
+                           names[winner], names[loser], records[game]);
+                if ((i + 1) % GAMES_PER_CHUNK == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        try (GameArchive archive = GameArchive.open(file)) {
+            System.out.println(String.format("Wrote %d games in %.2f s; archive holds %d games in %.1f MB (%.1f bytes/game)",
+                count, seconds, archive.getGameCount(), archive.getSizeBytes() / 1e6,
+                (double) archive.getSizeBytes() / Math.max(archive.getGameCount(), 1)));
+        }
+    }
+
+    private static void scan(Path file, int threads) throws Exception {
+        try (GameArchive archive = GameArchive.open(file)) {
+            long games = archive.getGameCount();
+            long[][] totals = new long[threads][];
+            Thread[] workers = new Thread[threads];
+            long start = System.nanoTime();
+            for (int t = 0; t < threads; t++) {
+                int worker = t;
+                GameArchive.Cursor cursor = archive.cursor(games * t / threads, games * (t + 1) / threads);
+                workers[t] = new Thread(() -> totals[worker] = scan(cursor), "archive-scan-" + t);
+                workers[t].start();
+            }
+            long[] sum = new long[4 + WinReason.values().length];
+            for (int t = 0; t < threads; t++) {
+                workers[t].join();
+                if (totals[t] == null) {
+                    // The worker failed and reported why
+                    throw new IOException("Could not scan games " + games * t / threads + " to " + games * (t + 1) / threads);
+                }
+                for (int i = 0; i < sum.length; i++) {
+                    sum[i] += totals[t][i];
+                }
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            System.out.println(String.format("=== ARCHIVE SCAN (%d games, %.1f MB, %d threads) ===",
+                games, archive.getSizeBytes() / 1e6, threads));
+            System.out.println(String.format("Time: %.3f s", seconds));
+            System.out.println(String.format("Games/second: %.0f", sum[0] / seconds));
+            System.out.println(String.format("Moves/second: %.0f", sum[1] / seconds));
+            System.out.println(String.format("Average game length: %.1f plies", (double) sum[1] / Math.max(sum[0], 1)));
+            System.out.println(String.format("River jumps: %.2f%% of moves", 100.0 * sum[2] / Math.max(sum[1], 1)));
+            System.out.println(String.format("Red wins: %.1f%%", 100.0 * sum[3] / Math.max(sum[0], 1)));
+            for (WinReason reason : WinReason.values()) {
+                System.out.println(String.format("  %-50s %10d", reason.getDescription(), sum[4 + reason.ordinal()]));
+            }
+        }
+    }
+
+    /**
+     * Reads one range of games.
+     * @return games, moves, river jumps, Red wins, then the number of games won for each win reason
+     */
+    private static long[] scan(GameArchive.Cursor cursor) {
+        long[] totals = new long[4 + WinReason.values().length];
+        while (cursor.next()) {
+            ByteBuffer moves = cursor.moves();
+            while (moves.hasRemaining()) {
+                int move = MoveRecord.read(moves);
+                totals[1]++;
+                if (!BoardGeometry.isAdjacent(Move.from(move), Move.to(move))) {
+                    totals[2]++;
+                }
+            }
+            totals[0]++;
+            if (cursor.getWinnerSide() == Position.RED) {
+                totals[3]++;
+            }
+            totals[4 + cursor.getWinReason().ordinal()]++;
+        }
+        return totals;
+    }
+}
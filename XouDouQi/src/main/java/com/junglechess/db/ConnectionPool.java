@@ -0,0 +1,191 @@
+package com.junglechess.db;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Small pool of SQLite connections to one database file.
+ * Connections are opened on demand up to a fixed size and configured for concurrent use:
+ * WAL journaling so readers never wait for a writer, {@code synchronous=NORMAL} (safe in WAL mode,
+ * one fsync per checkpoint instead of per commit), a larger page cache and a busy timeout so
+ * writers queue inside SQLite rather than failing with SQLITE_BUSY.
+ * <p>
+ * Each connection caches its prepared statements by SQL text. A borrowed connection is
+ * returned by closing it, so it is used with try-with-resources.
+ */
+final class ConnectionPool {
+    private static final String[] PRAGMAS = {
+        "PRAGMA journal_mode=WAL",
+        "PRAGMA synchronous=NORMAL",
+        "PRAGMA cache_size=-8000", // Negative sizes are in KiB: 8 MB per connection
+        "PRAGMA temp_store=MEMORY",
+        "PRAGMA busy_timeout=5000"
+    };
+    private static final long BORROW_TIMEOUT_SECONDS = 30;
+
+    private final String url;
+    private final int maxSize;
+    private final BlockingQueue<PooledConnection> idle;
+    private final List<PooledConnection> all = new ArrayList<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private boolean closed;
+
+    /**
+     * A pooled connection with its prepared statement cache.
+     * Closing it returns it to the pool.
+     */
+    final class PooledConnection implements AutoCloseable {
+        private final Connection connection;
+        private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+        private PooledConnection(Connection connection) {
+            this.connection = connection;
+        }
+
+        /**
+         * Gets the underlying connection, e.g. for statements that are run only once.
+         * @return the JDBC connection
+         */
+        Connection connection() {
+            return connection;
+        }
+
+        /**
+         * Gets the prepared statement for some SQL, preparing it on first use on this connection.
+         * The statement stays open for reuse: close its result sets, not the statement.
+         * @param sql the statement text
+         * @return the cached statement
+         * @throws SQLException if the statement cannot be prepared
+         */
+        PreparedStatement prepare(String sql) throws SQLException {
+            PreparedStatement statement = statements.get(sql);
+            if (statement == null) {
+                statement = connection.prepareStatement(sql);
+                statements.put(sql, statement);
+            }
+            return statement;
+        }
+
+        @Override
+        public void close() {
+            release(this);
+        }
+
+        private void closeConnection() {
+            try {
+                for (PreparedStatement statement : statements.values()) {
+                    statement.close();
+                }
+                connection.close();
+            } catch (SQLException e) {
+                System.err.println("Error closing pooled connection: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Constructor for a pool. No connection is opened until one is borrowed.
+     * @param url the JDBC URL of the database
+     * @param maxSize the maximum number of open connections
+     */
+    ConnectionPool(String url, int maxSize) {
+        this.url = url;
+        // Every connection to an in-memory database would see a different, empty database
+        this.maxSize = url.contains(":memory:") || url.contains("mode=memory") ? 1 : maxSize;
+        this.idle = new ArrayBlockingQueue<>(this.maxSize);
+    }
+
+    /**
+     * Borrows a connection, opening a new one if none is idle and the pool is not full,
+     * and otherwise waiting for one to be returned.
+     * @return a connection to close after use
+     * @throws SQLException if the pool is closed, a connection cannot be opened or none is returned in time
+     */
+    PooledConnection borrow() throws SQLException {
+        PooledConnection pooled = idle.poll();
+        if (pooled != null) {
+            return pooled;
+        }
+        lock.lock();
+        try {
+            if (closed) {
+                throw new SQLException("Connection pool is closed");
+            }
+            if (all.size() < maxSize) {
+                pooled = new PooledConnection(open());
+                all.add(pooled);
+                return pooled;
+            }
+        } finally {
+            lock.unlock();
+        }
+        try {
+            pooled = idle.poll(BORROW_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+        if (pooled == null) {
+            throw new SQLException("No database connection available after " + BORROW_TIMEOUT_SECONDS + " s");
+        }
+        return pooled;
+    }
+
+    private Connection open() throws SQLException {
+        Connection connection = DriverManager.getConnection(url);
+        try (Statement statement = connection.createStatement()) {
+            for (String pragma : PRAGMAS) {
+                statement.execute(pragma);
+            }
+        } catch (SQLException e) {
+            // e.g. journal_mode=WAL is busy while another process holds the file
+            try {
+                connection.close();
+            } catch (SQLException closeError) {
+                e.addSuppressed(closeError);
+            }
+            throw e;
+        }
+        return connection;
+    }
+
+    private void release(PooledConnection pooled) {
+        lock.lock();
+        try {
+            if (closed) {
+                pooled.closeConnection();
+            } else {
+                idle.offer(pooled);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the idle connections now and the borrowed ones when they are returned.
+     */
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+        } finally {
+            lock.unlock();
+        }
+        PooledConnection pooled;
+        while ((pooled = idle.poll()) != null) {
+            pooled.closeConnection();
+        }
+    }
+}
@@ -1,82 +1,287 @@
 package com.junglechess.db;
 
+import com.junglechess.game.Game;
+import com.junglechess.game.MoveRecord;
+import com.junglechess.game.WinReason;
 import com.junglechess.model.Player;
+import com.junglechess.model.Position;
 
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
 import java.sql.*;
 
 /**
  * Database manager class for handling SQLite database operations.
  * Manages player authentication, registration, and game history tracking.
+ * <p>
+ * Operations borrow a connection from a {@link ConnectionPool} in WAL mode and reuse
+ * its cached prepared statements, so sessions on different threads can share one
+ * manager and log in or record results at the same time.
+ * <p>
+ * Game results are written behind by a {@link GameResultWriter} in batched transactions.
+ * Statistics include results that are still queued, and {@link #close()} writes them
+ * all before closing the connections.
+ * <p>
+ * Games saved with their moves can also be appended to a {@link GameArchive} file with
+ * {@link #openArchive}, for analytics that scan millions of games faster than JDBC can read them.
+ * <p>
+ * Logins and statistics of recently active players are answered from a {@link PlayerCache},
+ * which saved results keep up to date. Changes made to the database by other processes
+ * are not seen for players already cached.
  */
-public class DatabaseManager {
+public class DatabaseManager implements AutoCloseable {
     private static final String DB_URL = "jdbc:sqlite:junglechess.db";
-    private Connection connection;
+    public static final int DEFAULT_POOL_SIZE = 4;
+    public static final int DEFAULT_CACHE_SIZE = 10_000;
+    public static final int RESULT_BATCH_SIZE = 256;
+    public static final long RESULT_FLUSH_MILLIS = 50;
+
+    private static final String INSERT_PLAYER_SQL = "INSERT INTO players (username, password) VALUES (?, ?)";
+    private static final String LOGIN_SQL = "SELECT username FROM players WHERE username = ? AND password = ?";
+    private static final String STATS_SQL =
+        "SELECT wins, losses, current_streak, best_streak, last_played FROM player_stats WHERE username = ?";
+
+    private final String url;
+    private final int poolSize;
+    private final Shared shared;
+    private final PrintStream out;
+
+    /**
+     * Connection pool and cache shared by a manager and the session views made with {@link #withOutput}.
+     */
+    private static final class Shared {
+        final PlayerCache cache;
+        volatile ConnectionPool pool;
+        volatile GameResultWriter results;
+        volatile GameArchiveWriter archive;
+
+        Shared(PlayerCache cache) {
+            this.cache = cache;
+        }
+    }
+
+    /**
+     * Constructor using the default database file in the working directory.
+     */
+    public DatabaseManager() {
+        this(DB_URL);
+    }
+
+    /**
+     * Constructor to use another database, e.g. a temporary file for tests and benchmarks.
+     * @param url the JDBC URL of the database
+     */
+    public DatabaseManager(String url) {
+        this(url, DEFAULT_POOL_SIZE);
+    }
+
+    /**
+     * Constructor to use another database with a given number of pooled connections.
+     * @param url the JDBC URL of the database
+     * @param poolSize the maximum number of connections open at once
+     */
+    public DatabaseManager(String url, int poolSize) {
+        this(url, poolSize, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Constructor to use another database with given pool and cache sizes.
+     * @param url the JDBC URL of the database
+     * @param poolSize the maximum number of connections open at once
+     * @param cacheSize the number of players whose profile and statistics are kept in memory, 0 for none
+     */
+    public DatabaseManager(String url, int poolSize, int cacheSize) {
+        this(url, poolSize, new Shared(new PlayerCache(cacheSize)), System.out);
+    }
+
+    private DatabaseManager(String url, int poolSize, Shared shared, PrintStream out) {
+        this.url = url;
+        this.poolSize = poolSize;
+        this.shared = shared;
+        this.out = out;
+    }
+
+    /**
+     * Gets a manager using the same connections that prints its messages to another stream,
+     * e.g. the client of a network session.
+     * @param out the stream for messages shown to the player
+     * @return a manager sharing this manager's connection pool
+     */
+    public DatabaseManager withOutput(PrintStream out) {
+        return new DatabaseManager(url, poolSize, shared, out);
+    }
 
     /**
      * Connects to the SQLite database file.
      * Creates the database file if it doesn't exist.
      */    public void connect() {
+        ConnectionPool pool = new ConnectionPool(url, poolSize);
+        // Open the first connection now, so a missing driver or unwritable file is reported here
         try {
-            connection = DriverManager.getConnection(DB_URL);
-            System.out.println("Connected to SQLite database successfully.");
+            pool.borrow().close();
+            GameResultWriter results = new GameResultWriter(pool, shared.cache, RESULT_BATCH_SIZE, RESULT_FLUSH_MILLIS);
+            results.setArchive(shared.archive);
+            shared.results = results;
+            shared.pool = pool;
+            out.println("Connected to SQLite database successfully.");
         } catch (SQLException e) {
             System.err.println("Error connecting to database: " + e.getMessage());
         }
     }
 
+    /**
+     * Also appends every game saved with its moves to an archive file, in the same batches
+     * as they are written to the database. Games saved before this are not archived.
+     * Call it once, before or after {@link #connect()}.
+     * @param file the archive file, created if it doesn't exist
+     */
+    public void openArchive(Path file) {
+        try {
+            GameArchiveWriter archive = GameArchiveWriter.open(file);
+            shared.archive = archive;
+            GameResultWriter results = shared.results;
+            if (results != null) {
+                results.setArchive(archive);
+            }
+            out.println("Archiving games to " + file);
+        } catch (IOException e) {
+            System.err.println("Error opening game archive: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Borrows a pooled connection; close it to give it back.
+     */
+    private ConnectionPool.PooledConnection borrow() throws SQLException {
+        ConnectionPool pool = shared.pool;
+        if (pool == null) {
+            throw new SQLException("Not connected to the database");
+        }
+        return pool.borrow();
+    }
+
     /**
      * Creates the necessary tables if they don't exist.
      * - players table: stores user credentials
-     * - game_history table: stores match results
+     * - game_history table: stores match results and their moves in {@link MoveRecord} format
+     * - player_stats table: one row of running totals per player, kept up to date with game_history
+     * A player_stats table added to an existing database is filled from its game history;
+     * streaks start counting from then on.
      */
     public void setupTables() {
-        String createPlayersTable = 
+        String createPlayersTable =
             "CREATE TABLE IF NOT EXISTS players (" +
             "id INTEGER PRIMARY KEY, " +
             "username TEXT UNIQUE, " +
             "password TEXT" +
             ");";
 
-        String createGameHistoryTable = 
+        String createGameHistoryTable =
             "CREATE TABLE IF NOT EXISTS game_history (" +
             "id INTEGER PRIMARY KEY, " +
             "winner TEXT, " +
             "loser TEXT, " +
-            "timestamp DATETIME DEFAULT CURRENT_TIMESTAMP" +
+            "timestamp DATETIME DEFAULT CURRENT_TIMESTAMP, " +
+            "moves BLOB" +
             ");";
 
-        try (Statement stmt = connection.createStatement()) {
-            stmt.execute(createPlayersTable);
-            stmt.execute(createGameHistoryTable);
-            System.out.println("Database tables set up successfully.");
+        // last_played is in milliseconds since the epoch
+        String createPlayerStatsTable =
+            "CREATE TABLE IF NOT EXISTS player_stats (" +
+            "username TEXT PRIMARY KEY, " +
+            "wins INTEGER NOT NULL DEFAULT 0, " +
+            "losses INTEGER NOT NULL DEFAULT 0, " +
+            "current_streak INTEGER NOT NULL DEFAULT 0, " +
+            "best_streak INTEGER NOT NULL DEFAULT 0, " +
+            "last_played INTEGER NOT NULL DEFAULT 0" +
+            ") WITHOUT ROWID;";
+
+        String fillPlayerStats =
+            "INSERT INTO player_stats (username, wins, losses, last_played) " +
+            "SELECT name, SUM(won), SUM(lost), COALESCE(CAST(strftime('%s', MAX(timestamp)) AS INTEGER) * 1000, 0) FROM (" +
+            "SELECT winner AS name, 1 AS won, 0 AS lost, timestamp FROM game_history " +
+            "UNION ALL SELECT loser, 0, 1, timestamp FROM game_history" +
+            ") GROUP BY name;";
+
+        String[] createIndexes = {
+            "CREATE INDEX IF NOT EXISTS idx_game_history_winner ON game_history (winner);",
+            "CREATE INDEX IF NOT EXISTS idx_game_history_loser ON game_history (loser);"
+        };
+
+        try (ConnectionPool.PooledConnection db = borrow();
+             Statement stmt = db.connection().createStatement()) {
+            Connection connection = db.connection();
+            connection.setAutoCommit(false);
+            try {
+                boolean hadPlayerStats;
+                try (ResultSet rs = stmt.executeQuery(
+                         "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = 'player_stats'")) {
+                    hadPlayerStats = rs.next();
+                }
+                stmt.execute(createPlayersTable);
+                stmt.execute(createGameHistoryTable);
+                if (!hasColumn(stmt, "game_history", "moves")) {
+                    stmt.execute("ALTER TABLE game_history ADD COLUMN moves BLOB;");
+                }
+                stmt.execute(createPlayerStatsTable);
+                if (!hadPlayerStats) {
+                    stmt.execute(fillPlayerStats);
+                }
+                for (String createIndex : createIndexes) {
+                    stmt.execute(createIndex);
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+            out.println("Database tables set up successfully.");
         } catch (SQLException e) {
             System.err.println("Error creating tables: " + e.getMessage());
         }
     }
 
+    private static boolean hasColumn(Statement stmt, String table, String column) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("PRAGMA table_info(" + table + ")")) {
+            while (rs.next()) {
+                if (column.equals(rs.getString("name"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     /**
      * Creates a new player account.
      * @param username the username for the new account
      * @param password the password for the new account
-     * @return true if account created successfully, false if username already exists
+     * @return true if account created successfully, false if username already exists or is reserved
      */
     public boolean createPlayer(String username, String password) {
-        String sql = "INSERT INTO players (username, password) VALUES (?, ?)";
-        
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        if (Player.isReservedName(username)) {
+            out.println("Username '" + username + "' is reserved for the computer opponent. Please choose a different username.");
+            return false;
+        }
+        try (ConnectionPool.PooledConnection db = borrow()) {
+            PreparedStatement pstmt = db.prepare(INSERT_PLAYER_SQL);
             pstmt.setString(1, username);
             pstmt.setString(2, password);
             pstmt.executeUpdate();
-            System.out.println("Account created successfully for: " + username);
-            return true;
+            shared.cache.putPassword(username, password);
         } catch (SQLException e) {
             if (e.getErrorCode() == 19) { // SQLITE_CONSTRAINT error code
-                System.out.println("Username '" + username + "' already exists. Please choose a different username.");
+                out.println("Username '" + username + "' already exists. Please choose a different username.");
             } else {
                 System.err.println("Error creating player: " + e.getMessage());
             }
             return false;
         }
+        out.println("Account created successfully for: " + username);
+        return true;
     }
 
     /**
@@ -86,98 +291,194 @@ public class DatabaseManager {
      * @return Player object if authentication succeeds, null otherwise
      */
     public Player loginPlayer(String username, String password) {
-        String sql = "SELECT username FROM players WHERE username = ? AND password = ?";
-        
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, username);
-            pstmt.setString(2, password);
-            
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    System.out.println("Login successful for: " + username);
-                    return new Player(username);
-                } else {
-                    System.out.println("Invalid username or password.");
-                    return null;
+        if (Player.isReservedName(username)) {
+            // An account made before the name was reserved must not play as the computer
+            out.println("Invalid username or password.");
+            return null;
+        }
+        boolean found;
+        String cachedPassword = shared.cache.getPassword(username);
+        if (cachedPassword != null) {
+            found = cachedPassword.equals(password);
+        } else {
+            try (ConnectionPool.PooledConnection db = borrow()) {
+                PreparedStatement pstmt = db.prepare(LOGIN_SQL);
+                pstmt.setString(1, username);
+                pstmt.setString(2, password);
+
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    found = rs.next();
                 }
+            } catch (SQLException e) {
+                System.err.println("Error during login: " + e.getMessage());
+                return null;
             }
-        } catch (SQLException e) {
-            System.err.println("Error during login: " + e.getMessage());
+            if (found) {
+                shared.cache.putPassword(username, password);
+            }
+        }
+
+        if (found) {
+            out.println("Login successful for: " + username);
+            return new Player(username);
+        } else {
+            out.println("Invalid username or password.");
             return null;
         }
     }
 
     /**
      * Saves the result of a completed game.
+     * The result is queued and written with others in one transaction, so this does not wait for the disk.
+     * Cached statistics of both players are updated at once.
      * @param winner the player who won the game
      * @param loser the player who lost the game
      */
     public void saveGameResult(Player winner, Player loser) {
-        String sql = "INSERT INTO game_history (winner, loser) VALUES (?, ?)";
-        
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, winner.getName());
-            pstmt.setString(2, loser.getName());
-            pstmt.executeUpdate();
-            System.out.println("Game result saved: " + winner.getName() + " defeated " + loser.getName());
-        } catch (SQLException e) {
+        queueResult(winner, loser, null, Position.RED, null);
+    }
+
+    /**
+     * Saves the result of a completed game together with its moves, so it can be replayed.
+     * The moves are encoded here, once the game is over, so playing them costs nothing extra.
+     * @param winner the player who won the game
+     * @param loser the player who lost the game
+     * @param game the finished game, started from the standard position
+     */
+    public void saveGameResult(Player winner, Player loser, Game game) {
+        queueResult(winner, loser, MoveRecord.encode(game), game.getWinnerSide(), game.getWinReason());
+    }
+
+    private void queueResult(Player winner, Player loser, byte[] moves, int winnerSide, WinReason winReason) {
+        GameResultWriter results = shared.results;
+        if (results == null) {
+            System.err.println("Error saving game result: Not connected to the database");
+            return;
+        }
+        long finishedAt = System.currentTimeMillis();
+        shared.cache.resultSaving(winner.getName(), loser.getName(), finishedAt);
+        try {
+            results.submit(winner.getName(), loser.getName(), finishedAt, moves, winnerSide, winReason);
+        } catch (IllegalStateException e) {
+            // The writer is closing: the result will never reach the database
+            shared.cache.invalidate(winner.getName());
+            shared.cache.invalidate(loser.getName());
             System.err.println("Error saving game result: " + e.getMessage());
+            return;
+        } finally {
+            shared.cache.resultSaved();
         }
+        out.println("Game result saved: " + winner.getName() + " defeated " + loser.getName());
     }
 
     /**
-     * Retrieves and displays player statistics.
-     * @param username the username to get statistics for
+     * Waits until every game result saved so far has been written to the database.
      */
-    public void getPlayerHistory(String username) {
-        String winsSql = "SELECT COUNT(*) FROM game_history WHERE winner = ?";
-        String lossesSql = "SELECT COUNT(*) FROM game_history WHERE loser = ?";
-        
+    public void flush() {
+        GameResultWriter results = shared.results;
+        if (results != null) {
+            results.flush();
+        }
+    }
+
+    /**
+     * Gets a player's statistics from the cache, or else with a single primary key lookup.
+     * Results still waiting to be written are included.
+     * @param username the player's name
+     * @return the statistics, {@link PlayerStats#NONE} for a player without finished games,
+     *         or null if the database cannot be read
+     */
+    public PlayerStats getPlayerStats(String username) {
+        PlayerStats cached = shared.cache.getStats(username);
+        if (cached != null) {
+            return cached;
+        }
+        long cacheVersion = shared.cache.getVersion();
+        GameResultWriter results = shared.results;
         try {
-            int wins = 0;
-            int losses = 0;
-            
-            // Get wins count
-            try (PreparedStatement pstmt = connection.prepareStatement(winsSql)) {
-                pstmt.setString(1, username);
-                try (ResultSet rs = pstmt.executeQuery()) {
-                    if (rs.next()) {
-                        wins = rs.getInt(1);
-                    }
-                }
+            if (results == null) {
+                throw new SQLException("Not connected to the database");
             }
-            
-            // Get losses count
-            try (PreparedStatement pstmt = connection.prepareStatement(lossesSql)) {
-                pstmt.setString(1, username);
-                try (ResultSet rs = pstmt.executeQuery()) {
-                    if (rs.next()) {
-                        losses = rs.getInt(1);
+            // Retry if a batch moved from the queue to the database while reading.
+            // Wait for the writer before borrowing, it needs a connection to finish its batch.
+            PlayerStats stats;
+            long commits;
+            do {
+                commits = results.beginRead();
+                try (ConnectionPool.PooledConnection db = borrow()) {
+                    PreparedStatement pstmt = db.prepare(STATS_SQL);
+                    pstmt.setString(1, username);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        stats = rs.next()
+                            ? new PlayerStats(rs.getInt(1), rs.getInt(2), rs.getInt(3), rs.getInt(4), rs.getLong(5))
+                            : PlayerStats.NONE;
                     }
                 }
-            }
-            
-            System.out.println("\nPlayer Statistics for " + username + ":");
-            System.out.println("Wins: " + wins);
-            System.out.println("Losses: " + losses);
-            System.out.println();
-            
+                stats = results.applyQueued(username, stats);
+            } while (commits != results.getCommitCount());
+            shared.cache.putStats(username, stats, cacheVersion);
+            return stats;
         } catch (SQLException e) {
             System.err.println("Error retrieving player history: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Retrieves and displays player statistics.
+     * Results still waiting to be written are included.
+     * @param username the username to get statistics for
+     */
+    public void getPlayerHistory(String username) {
+        PlayerStats stats = getPlayerStats(username);
+        if (stats == null) {
+            return;
+        }
+
+        // Print after giving the connection back, a slow client must not hold it
+        out.println("\nPlayer Statistics for " + username + ":");
+        out.println("Wins: " + stats.getWins());
+        out.println("Losses: " + stats.getLosses());
+        int streak = stats.getCurrentStreak();
+        if (streak != 0) {
+            out.println("Current streak: " + Math.abs(streak) + (streak > 0 ? " win(s)" : " loss(es)"));
+        }
+        if (stats.getBestStreak() > 0) {
+            out.println("Best win streak: " + stats.getBestStreak());
         }
+        out.println();
     }
 
     /**
-     * Closes the database connection.
+     * Gets the cache of player profiles and statistics, e.g. to report its hit rate.
+     * @return the cache shared by this manager and its session views
      */
+    public PlayerCache getPlayerCache() {
+        return shared.cache;
+    }
+
+    /**
+     * Writes any queued game results, then closes the database connections and the archive.
+     */
+    @Override
     public void close() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-                System.out.println("Database connection closed.");
+        ConnectionPool pool = shared.pool;
+        if (pool != null) {
+            shared.pool = null;
+            shared.results.close();
+            shared.results = null;
+            pool.close();
+            shared.cache.clear();
+            out.println("Database connection closed.");
+        }
+        GameArchiveWriter archive = shared.archive;
+        if (archive != null) {
+            shared.archive = null;
+            try {
+                archive.close();
+            } catch (IOException e) {
+                System.err.println("Error closing game archive: " + e.getMessage());
             }
-        } catch (SQLException e) {
-            System.err.println("Error closing database connection: " + e.getMessage());
         }
     }
 }
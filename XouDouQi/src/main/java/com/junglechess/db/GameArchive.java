@@ -0,0 +1,353 @@
+package com.junglechess.db;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.junglechess.game.MoveRecord;
+import com.junglechess.game.WinReason;
+
+/**
+ * Read-only, memory-mapped view of a game archive written by {@link GameArchiveWriter}.
+ * Games are read in place with a {@link Cursor}: nothing is copied or allocated per game
+ * unless a player name is asked for, so a scan runs at the speed of the page cache.
+ * Games are numbered from 0 in the order they were written, and cursors over disjoint
+ * ranges of numbers let several threads scan one archive in parallel.
+ * <p>
+ * The file is a header followed by chunks, each holding one batch of games; all numbers are big-endian:
+ * <pre>
+ * header  int magic "JCGA", int version
+ * chunk   int games, int length of the rest of the chunk
+ *         per game, the index: long finish time in ms since the epoch, int record offset
+ *         per game, the record: byte winner side | win reason ordinal &lt;&lt; 1,
+ *                               byte length and UTF-8 bytes of the winner's name, the same for the loser,
+ *                               the moves in {@link MoveRecord} format up to the next record
+ * </pre>
+ * Record offsets count from the chunk's first record. Chunks are only ever appended, so
+ * a chunk cut short by a crash can only be the last one, and it is ignored.
+ */
+public final class GameArchive implements AutoCloseable {
+    static final int MAGIC = 0x4A434741; // "JCGA"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 8;
+    static final int CHUNK_HEADER_BYTES = 8;
+    static final int INDEX_ENTRY_BYTES = 12;
+
+    // One mapping cannot exceed 2 GB, so larger archives are mapped in windows of whole chunks
+    private static final long MAX_WINDOW_BYTES = 1L << 30;
+    private static final WinReason[] WIN_REASONS = WinReason.values();
+
+    private final FileChannel channel;
+    private final long size;
+    private final MappedByteBuffer[] windows;
+    private final long[] chunkFirstGame; // One more entry than chunks, ending with the game count
+    private final int[] chunkWindow;
+    private final int[] chunkOffset;     // Within the chunk's window
+
+    /**
+     * The complete chunks of an archive file.
+     */
+    static final class Chunks {
+        long[] offsets = new long[16];
+        int[] games = new int[16];
+        int[] lengths = new int[16];
+        int count;
+        long end = HEADER_BYTES; // Where the next chunk goes
+
+        long end(int chunk) {
+            return offsets[chunk] + CHUNK_HEADER_BYTES + lengths[chunk];
+        }
+    }
+
+    private GameArchive(FileChannel channel) throws IOException {
+        this.channel = channel;
+        Chunks chunks = scan(channel);
+        this.size = chunks.end;
+        this.chunkFirstGame = new long[chunks.count + 1];
+        this.chunkWindow = new int[chunks.count];
+        this.chunkOffset = new int[chunks.count];
+        for (int i = 0; i < chunks.count; i++) {
+            chunkFirstGame[i + 1] = chunkFirstGame[i] + chunks.games[i];
+        }
+
+        List<MappedByteBuffer> mapped = new ArrayList<>();
+        int chunk = 0;
+        while (chunk < chunks.count) {
+            int first = chunk;
+            long start = chunks.offsets[first];
+            while (chunk < chunks.count && chunks.end(chunk) - start <= MAX_WINDOW_BYTES) {
+                chunkWindow[chunk] = mapped.size();
+                chunkOffset[chunk] = (int) (chunks.offsets[chunk] - start);
+                chunk++;
+            }
+            if (chunk == first) {
+                throw new IOException("Archive chunk at " + start + " is too large to map");
+            }
+            mapped.add(channel.map(FileChannel.MapMode.READ_ONLY, start, chunks.end(chunk - 1) - start));
+        }
+        this.windows = mapped.toArray(new MappedByteBuffer[0]);
+    }
+
+    /**
+     * Opens an archive for reading and maps its complete chunks.
+     * Games appended later are not seen; open the archive again to read them.
+     * @param file the archive file
+     * @return the archive, to close after use
+     * @throws IOException if the file cannot be read or is not a game archive
+     */
+    public static GameArchive open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new GameArchive(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Checks an archive's header and finds its complete chunks by walking the chunk headers.
+     * @param channel the open archive file
+     * @return the chunks, ending before any chunk cut short
+     * @throws IOException if the file cannot be read or is not a game archive
+     */
+    static Chunks scan(FileChannel channel) throws IOException {
+        long fileSize = channel.size();
+        ByteBuffer header = ByteBuffer.allocate(Math.max(HEADER_BYTES, CHUNK_HEADER_BYTES));
+        if (fileSize < HEADER_BYTES) {
+            throw new IOException("Not a game archive: file too short");
+        }
+        readFully(channel, header.limit(HEADER_BYTES), 0);
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException("Not a game archive: bad magic number");
+        }
+        if (header.getInt(4) != VERSION) {
+            throw new IOException("Unsupported game archive version " + header.getInt(4));
+        }
+
+        Chunks chunks = new Chunks();
+        while (chunks.end + CHUNK_HEADER_BYTES <= fileSize) {
+            readFully(channel, header.clear().limit(CHUNK_HEADER_BYTES), chunks.end);
+            int games = header.getInt(0);
+            int length = header.getInt(4);
+            if (games <= 0 || length < games * INDEX_ENTRY_BYTES
+                || chunks.end + CHUNK_HEADER_BYTES + length > fileSize) {
+                break;
+            }
+            if (chunks.count == chunks.offsets.length) {
+                chunks.offsets = Arrays.copyOf(chunks.offsets, chunks.count * 2);
+                chunks.games = Arrays.copyOf(chunks.games, chunks.count * 2);
+                chunks.lengths = Arrays.copyOf(chunks.lengths, chunks.count * 2);
+            }
+            chunks.offsets[chunks.count] = chunks.end;
+            chunks.games[chunks.count] = games;
+            chunks.lengths[chunks.count] = length;
+            chunks.count++;
+            chunks.end += CHUNK_HEADER_BYTES + length;
+        }
+        return chunks;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of game archive");
+            }
+        }
+    }
+
+    /**
+     * Gets the number of complete games in the archive.
+     * @return the number of games
+     */
+    public long getGameCount() {
+        return chunkFirstGame[chunkFirstGame.length - 1];
+    }
+
+    /**
+     * Gets the size of the complete chunks.
+     * @return the number of bytes that are read by a full scan
+     */
+    public long getSizeBytes() {
+        return size;
+    }
+
+    /**
+     * Gets a cursor over every game.
+     * @return a cursor before the first game
+     */
+    public Cursor cursor() {
+        return cursor(0, getGameCount());
+    }
+
+    /**
+     * Gets a cursor over a range of games, e.g. one thread's share of a parallel scan.
+     * @param fromGame the number of the first game
+     * @param toGame the number after the last game
+     * @return a cursor before the first game of the range
+     * @throws IndexOutOfBoundsException if the range is not within the archive
+     */
+    public Cursor cursor(long fromGame, long toGame) {
+        if (fromGame < 0 || fromGame > toGame || toGame > getGameCount()) {
+            throw new IndexOutOfBoundsException("Games " + fromGame + " to " + toGame
+                + " are not in an archive of " + getGameCount());
+        }
+        return new Cursor(fromGame, toGame);
+    }
+
+    /**
+     * Closes the file. Cursors must not be used afterwards.
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Iterator-style reader of consecutive games, reading straight from the mapped file.
+     * {@link #next()} moves to the next game, and the getters describe the current one.
+     * A cursor is not thread-safe; give each thread its own.
+     */
+    public final class Cursor {
+        private final long endGame;
+        private final ByteBuffer[] views = new ByteBuffer[windows.length];
+        private long game;
+        private int chunk;
+        private int chunkGames;
+        private int local;
+        private ByteBuffer view;
+        private int indexStart;
+        private int recordsStart;
+        private int recordsEnd;
+        private int recordStart;
+        private int recordEnd;
+
+        private Cursor(long fromGame, long toGame) {
+            this.endGame = toGame;
+            this.game = fromGame - 1;
+            if (fromGame < toGame) {
+                // The last chunk starting at or before the first game
+                int found = Arrays.binarySearch(chunkFirstGame, 0, chunkWindow.length, fromGame);
+                enterChunk(found >= 0 ? found : -found - 2);
+                local = (int) (fromGame - chunkFirstGame[chunk]) - 1;
+            }
+        }
+
+        private void enterChunk(int index) {
+            chunk = index;
+            int window = chunkWindow[index];
+            if (views[window] == null) {
+                // A private view, so each cursor's position and limit are its own
+                views[window] = windows[window].duplicate();
+            }
+            view = views[window].clear();
+            int offset = chunkOffset[index];
+            chunkGames = view.getInt(offset);
+            indexStart = offset + CHUNK_HEADER_BYTES;
+            recordsStart = indexStart + chunkGames * INDEX_ENTRY_BYTES;
+            recordsEnd = indexStart + view.getInt(offset + 4);
+            local = -1;
+        }
+
+        /**
+         * Moves to the next game.
+         * @return true if there is one, false at the end of the range
+         */
+        public boolean next() {
+            if (game + 1 >= endGame) {
+                return false;
+            }
+            game++;
+            local++;
+            // Undo the limit set by moves()
+            view.clear();
+            if (local == chunkGames) {
+                enterChunk(chunk + 1);
+                local = 0;
+            }
+            int entry = indexStart + local * INDEX_ENTRY_BYTES;
+            recordStart = recordsStart + view.getInt(entry + 8);
+            recordEnd = local + 1 < chunkGames
+                ? recordsStart + view.getInt(entry + INDEX_ENTRY_BYTES + 8)
+                : recordsEnd;
+            return true;
+        }
+
+        /**
+         * Get the number of the current game.
+         * @return the game's position in the archive, from 0
+         */
+        public long getGameNumber() {
+            return game;
+        }
+
+        /**
+         * Get when the current game finished.
+         * @return milliseconds since the epoch
+         */
+        public long getFinishedAt() {
+            return view.getLong(indexStart + local * INDEX_ENTRY_BYTES);
+        }
+
+        /**
+         * Get the side that won the current game.
+         * @return Position.RED or Position.BLUE
+         */
+        public int getWinnerSide() {
+            return view.get(recordStart) & 1;
+        }
+
+        /**
+         * Get how the current game was won.
+         * @return the win reason
+         */
+        public WinReason getWinReason() {
+            return WIN_REASONS[(view.get(recordStart) & 0xFF) >>> 1];
+        }
+
+        /**
+         * Get the winner's name; unlike the other getters, this allocates.
+         * @return the winner's name
+         */
+        public String getWinner() {
+            return name(recordStart + 1);
+        }
+
+        /**
+         * Get the loser's name; unlike the other getters, this allocates.
+         * @return the loser's name
+         */
+        public String getLoser() {
+            int winnerName = recordStart + 1;
+            return name(winnerName + 1 + (view.get(winnerName) & 0xFF));
+        }
+
+        /**
+         * Gets the current game's moves, to read with {@link MoveRecord#read} until none remain.
+         * The buffer is a view of the mapped file that is reused for the next game.
+         * Moves damaged on disk make {@link MoveRecord#read} throw an IllegalArgumentException.
+         * @return the moves between the buffer's position and limit
+         */
+        public ByteBuffer moves() {
+            int winnerName = recordStart + 1;
+            int loserName = winnerName + 1 + (view.get(winnerName) & 0xFF);
+            int movesStart = loserName + 1 + (view.get(loserName) & 0xFF);
+            return view.limit(recordEnd).position(movesStart);
+        }
+
+        private String name(int at) {
+            byte[] bytes = new byte[view.get(at) & 0xFF];
+            view.get(at + 1, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.junglechess.db;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.junglechess.game.WinReason;
+
+/**
+ * Appends finished games to a game archive, in the format described by {@link GameArchive}.
+ * Games are collected in memory and written as one chunk by {@link #flush()}, with a single
+ * write, so a batch of results costs one system call. Opening an existing archive continues it
+ * after its last complete chunk.
+ * <p>
+ * A writer is not thread-safe; {@link DatabaseManager} only uses it from its result writer thread.
+ */
+public final class GameArchiveWriter implements AutoCloseable {
+    private static final int MAX_NAME_BYTES = 255;
+
+    private final FileChannel channel;
+    private ByteBuffer index = ByteBuffer.allocate(GameArchive.INDEX_ENTRY_BYTES * 256);
+    private ByteBuffer records = ByteBuffer.allocate(64 * 1024);
+    private final ByteBuffer chunkHeader = ByteBuffer.allocate(GameArchive.CHUNK_HEADER_BYTES);
+    private int games;
+
+    private GameArchiveWriter(FileChannel channel, long end) throws IOException {
+        this.channel = channel;
+        channel.position(end);
+    }
+
+    /**
+     * Opens an archive for appending, creating it if it doesn't exist.
+     * A last chunk cut short by a crash is removed.
+     * @param file the archive file
+     * @return the writer, to close after use
+     * @throws IOException if the file cannot be opened or is not a game archive
+     */
+    public static GameArchiveWriter open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long end;
+            if (channel.size() == 0) {
+                ByteBuffer header = ByteBuffer.allocate(GameArchive.HEADER_BYTES)
+                    .putInt(GameArchive.MAGIC).putInt(GameArchive.VERSION).flip();
+                while (header.hasRemaining()) {
+                    channel.write(header);
+                }
+                end = GameArchive.HEADER_BYTES;
+            } else {
+                end = GameArchive.scan(channel).end;
+                channel.truncate(end);
+            }
+            return new GameArchiveWriter(channel, end);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Adds a game to the chunk written by the next {@link #flush()}.
+     * @param finishedAt when the game finished, in milliseconds since the epoch
+     * @param winnerSide the side that won, Position.RED or Position.BLUE
+     * @param reason how the game was won
+     * @param winner the winner's name
+     * @param loser the loser's name
+     * @param moves the game's moves in {@link com.junglechess.game.MoveRecord} format
+     * @throws IllegalArgumentException if a name is longer than 255 bytes in UTF-8
+     */
+    public void add(long finishedAt, int winnerSide, WinReason reason, String winner, String loser, byte[] moves) {
+        byte[] winnerName = nameBytes(winner);
+        byte[] loserName = nameBytes(loser);
+        index = ensureRemaining(index, GameArchive.INDEX_ENTRY_BYTES);
+        index.putLong(finishedAt).putInt(records.position());
+        records = ensureRemaining(records, 3 + winnerName.length + loserName.length + moves.length);
+        records.put((byte) (winnerSide | (reason.ordinal() << 1)))
+            .put((byte) winnerName.length).put(winnerName)
+            .put((byte) loserName.length).put(loserName)
+            .put(moves);
+        games++;
+    }
+
+    /**
+     * Writes the games added since the last flush as one chunk.
+     * The data is left to the operating system to write back, like SQLite's {@code synchronous=NORMAL}.
+     * @throws IOException if the chunk cannot be written
+     */
+    public void flush() throws IOException {
+        if (games == 0) {
+            return;
+        }
+        long start = channel.position();
+        chunkHeader.clear().putInt(games).putInt(index.position() + records.position()).flip();
+        ByteBuffer[] chunk = {chunkHeader, index.flip(), records.flip()};
+        try {
+            while (records.hasRemaining()) {
+                channel.write(chunk);
+            }
+        } catch (IOException e) {
+            // Later chunks must not follow a partial one, so the batch is dropped
+            channel.truncate(start);
+            channel.position(start);
+            throw e;
+        } finally {
+            index.clear();
+            records.clear();
+            games = 0;
+        }
+    }
+
+    /**
+     * Writes the remaining games and closes the file.
+     * @throws IOException if the games cannot be written or the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private static byte[] nameBytes(String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_NAME_BYTES) {
+            throw new IllegalArgumentException("Player name too long for the archive: " + name);
+        }
+        return bytes;
+    }
+
+    private static ByteBuffer ensureRemaining(ByteBuffer buffer, int bytes) {
+        if (buffer.remaining() >= bytes) {
+            return buffer;
+        }
+        ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+        return larger.put(buffer.flip());
+    }
+}
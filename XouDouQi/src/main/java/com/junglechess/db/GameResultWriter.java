@@ -0,0 +1,367 @@
+package com.junglechess.db;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.junglechess.game.WinReason;
+
+/**
+ * Write-behind queue for game results.
+ * {@link #submit} returns at once; a background thread writes queued results in one
+ * transaction per batch, when {@code batchSize} results are waiting or the oldest has
+ * waited {@code maxDelayMillis}, so a burst of finished games costs one commit instead of one each.
+ * The transaction adds each game to {@code game_history} and updates both players' rows
+ * in {@code player_stats}, so the two tables always agree. Once it commits, the games
+ * with moves are appended to the archive, if there is one, as one chunk.
+ * <p>
+ * Results stay in the queue until their batch is committed, so readers can add them to
+ * what the database returns. The commit counter works like a sequence lock: it is odd while
+ * a batch is being written, and a reader that sees it change while it was reading retries,
+ * so no result is counted twice or missed as it moves from the queue to the database.
+ * {@link #close()} writes everything still queued before it returns.
+ * <p>
+ * A batch that fails is retried a few times. If it still fails it is dropped, so one bad
+ * write cannot stall every later result, and its players are removed from the
+ * {@link PlayerCache}, which had already counted the results.
+ */
+final class GameResultWriter {
+    // Submitting blocks past this many queued results, when the database cannot keep up
+    private static final int MAX_QUEUED = 100_000;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_DELAY_MILLIS = 100;
+
+    private static final String INSERT_RESULT_SQL =
+        "INSERT INTO game_history (winner, loser, timestamp, moves) VALUES (?, ?, datetime(? / 1000, 'unixepoch'), ?)";
+    // In the update part of an upsert, column names refer to the existing row
+    private static final String RECORD_WIN_SQL =
+        "INSERT INTO player_stats (username, wins, losses, current_streak, best_streak, last_played) " +
+        "VALUES (?, 1, 0, 1, 1, ?) ON CONFLICT(username) DO UPDATE SET " +
+        "wins = wins + 1, " +
+        "current_streak = CASE WHEN current_streak > 0 THEN current_streak + 1 ELSE 1 END, " +
+        "best_streak = MAX(best_streak, CASE WHEN current_streak > 0 THEN current_streak + 1 ELSE 1 END), " +
+        "last_played = excluded.last_played";
+    private static final String RECORD_LOSS_SQL =
+        "INSERT INTO player_stats (username, wins, losses, current_streak, best_streak, last_played) " +
+        "VALUES (?, 0, 1, -1, 0, ?) ON CONFLICT(username) DO UPDATE SET " +
+        "losses = losses + 1, " +
+        "current_streak = CASE WHEN current_streak < 0 THEN current_streak - 1 ELSE -1 END, " +
+        "last_played = excluded.last_played";
+
+    private final ConnectionPool pool;
+    private final PlayerCache cache;
+    private final int batchSize;
+    private final long maxDelayNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition written = lock.newCondition();
+    private final ArrayDeque<Result> queue = new ArrayDeque<>();
+    private volatile long commitCount;
+    private long submittedCount; // Results queued since the writer started
+    private long writtenCount;   // Of those, results whose batch has been written or dropped
+    private boolean closing;
+    private int flushWaiters;
+    private final Thread thread;
+    private volatile GameArchiveWriter archive;
+
+    /**
+     * A finished game waiting to be written.
+     */
+    private static final class Result {
+        final String winner;
+        final String loser;
+        final long finishedAt;
+        final byte[] moves;
+        final int winnerSide;
+        final WinReason winReason;
+
+        Result(String winner, String loser, long finishedAt, byte[] moves, int winnerSide, WinReason winReason) {
+            this.winner = winner;
+            this.loser = loser;
+            this.finishedAt = finishedAt;
+            this.moves = moves;
+            this.winnerSide = winnerSide;
+            this.winReason = winReason;
+        }
+    }
+
+    /**
+     * Constructor for a writer; starts its background thread.
+     * @param pool the pool to borrow the writing connection from
+     * @param cache the cache to correct when a batch is dropped
+     * @param batchSize the number of results that triggers a write
+     * @param maxDelayMillis the longest a result waits before it is written
+     */
+    GameResultWriter(ConnectionPool pool, PlayerCache cache, int batchSize, long maxDelayMillis) {
+        this.pool = pool;
+        this.cache = cache;
+        this.batchSize = batchSize;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.thread = new Thread(this::run, "game-result-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Queues a result to be written.
+     * @param winner the winner's name
+     * @param loser the loser's name
+     * @param finishedAt when the game finished, in milliseconds since the epoch
+     * @param moves the game's moves in {@link com.junglechess.game.MoveRecord} format, or null if not recorded
+     * @param winnerSide the side the winner played, used with the moves
+     * @param winReason how the game was won, used with the moves
+     * @throws IllegalStateException if the writer is closed
+     */
+    void submit(String winner, String loser, long finishedAt, byte[] moves, int winnerSide, WinReason winReason) {
+        lock.lock();
+        try {
+            while (queue.size() >= MAX_QUEUED && !closing) {
+                written.awaitUninterruptibly();
+            }
+            if (closing) {
+                throw new IllegalStateException("Game result writer is closed");
+            }
+            queue.addLast(new Result(winner, loser, finishedAt, moves, winnerSide, winReason));
+            submittedCount++;
+            if (queue.size() == 1 || queue.size() >= batchSize) {
+                notEmpty.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Starts appending written games to an archive.
+     * @param archive the archive, which this writer uses from its own thread only
+     */
+    void setArchive(GameArchiveWriter archive) {
+        this.archive = archive;
+    }
+
+    /**
+     * Applies a player's queued results, in order, to statistics read from the database.
+     * @param username the player's name
+     * @param stats the player's statistics without the queued results
+     * @return the statistics including the queued results
+     */
+    PlayerStats applyQueued(String username, PlayerStats stats) {
+        lock.lock();
+        try {
+            for (Result result : queue) {
+                if (result.winner.equals(username)) {
+                    stats = stats.withResult(true, result.finishedAt);
+                } else if (result.loser.equals(username)) {
+                    stats = stats.withResult(false, result.finishedAt);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return stats;
+    }
+
+    /**
+     * Waits until no batch is being written and gets the commit counter, to start a read.
+     * @return the counter, to compare with {@link #getCommitCount()} once the read is done
+     */
+    long beginRead() {
+        lock.lock();
+        try {
+            while ((commitCount & 1) != 0) {
+                written.awaitUninterruptibly();
+            }
+            return commitCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the commit counter, which is odd while a batch is being written.
+     * @return a counter that changes whenever queued results start or finish moving to the database
+     */
+    long getCommitCount() {
+        return commitCount;
+    }
+
+    /**
+     * Waits until every result queued so far has been written.
+     * Results queued while waiting are not waited for, so other sessions cannot keep it blocked.
+     */
+    void flush() {
+        lock.lock();
+        try {
+            long target = submittedCount;
+            flushWaiters++;
+            notEmpty.signal();
+            while (writtenCount < target && thread.isAlive()) {
+                written.awaitUninterruptibly();
+            }
+            flushWaiters--;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops accepting results and waits until the queued ones are written.
+     */
+    void close() {
+        lock.lock();
+        try {
+            closing = true;
+            notEmpty.signal();
+            written.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (true) {
+            Result[] batch;
+            lock.lock();
+            try {
+                while (queue.isEmpty() && !closing) {
+                    notEmpty.awaitUninterruptibly();
+                }
+                if (queue.isEmpty()) {
+                    return;
+                }
+                // Give more results a chance to join the batch, up to the oldest one's deadline
+                long remaining = maxDelayNanos;
+                while (queue.size() < batchSize && !closing && flushWaiters == 0 && remaining > 0) {
+                    try {
+                        remaining = notEmpty.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        remaining = 0;
+                    }
+                }
+                batch = new Result[Math.min(queue.size(), batchSize)];
+                Iterator<Result> results = queue.iterator();
+                for (int i = 0; i < batch.length; i++) {
+                    batch[i] = results.next();
+                }
+                commitCount++;
+            } finally {
+                lock.unlock();
+            }
+
+            write(batch);
+
+            lock.lock();
+            try {
+                for (int i = 0; i < batch.length; i++) {
+                    queue.removeFirst();
+                }
+                writtenCount += batch.length;
+                commitCount++;
+                written.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Writes one batch in a single transaction, then archives it.
+     */
+    private void write(Result[] batch) {
+        if (!commit(batch)) {
+            System.err.println("Dropped " + batch.length + " game results after " + MAX_ATTEMPTS + " attempts");
+            // The cache counted these results when they were queued
+            for (Result result : batch) {
+                cache.invalidate(result.winner);
+                cache.invalidate(result.loser);
+            }
+            return;
+        }
+
+        GameArchiveWriter archive = this.archive;
+        if (archive != null) {
+            for (Result result : batch) {
+                if (result.moves != null) {
+                    try {
+                        archive.add(result.finishedAt, result.winnerSide, result.winReason,
+                                    result.winner, result.loser, result.moves);
+                    } catch (IllegalArgumentException e) {
+                        System.err.println("Error archiving game result: " + e.getMessage());
+                    }
+                }
+            }
+            try {
+                archive.flush();
+            } catch (IOException e) {
+                System.err.println("Error archiving " + batch.length + " game results: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Commits one batch, trying again after a short delay if it fails, e.g. while the database is busy.
+     * @return true if the batch was committed
+     */
+    private boolean commit(Result[] batch) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try (ConnectionPool.PooledConnection db = pool.borrow()) {
+                Connection connection = db.connection();
+                PreparedStatement insert = db.prepare(INSERT_RESULT_SQL);
+                PreparedStatement recordWin = db.prepare(RECORD_WIN_SQL);
+                PreparedStatement recordLoss = db.prepare(RECORD_LOSS_SQL);
+                connection.setAutoCommit(false);
+                try {
+                    for (Result result : batch) {
+                        insert.setString(1, result.winner);
+                        insert.setString(2, result.loser);
+                        insert.setLong(3, result.finishedAt);
+                        insert.setBytes(4, result.moves);
+                        insert.addBatch();
+                    }
+                    insert.executeBatch();
+                    // Streaks depend on the order of results, so players are updated game by game
+                    for (Result result : batch) {
+                        recordWin.setString(1, result.winner);
+                        recordWin.setLong(2, result.finishedAt);
+                        recordWin.executeUpdate();
+                        recordLoss.setString(1, result.loser);
+                        recordLoss.setLong(2, result.finishedAt);
+                        recordLoss.executeUpdate();
+                    }
+                    connection.commit();
+                    return true;
+                } catch (SQLException e) {
+                    insert.clearBatch();
+                    connection.rollback();
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                System.err.println("Error saving " + batch.length + " game results (attempt " + attempt
+                    + " of " + MAX_ATTEMPTS + "): " + e.getMessage());
+            }
+            if (attempt < MAX_ATTEMPTS) {
+                try {
+                    Thread.sleep(RETRY_DELAY_MILLIS * attempt);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,288 @@
+package com.junglechess.db;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded cache of player profiles and statistics in front of the database.
+ * It holds at most a fixed number of players and evicts the least recently used one,
+ * so repeated logins and statistics lookups of active players skip SQLite.
+ * <p>
+ * Saved game results update the cached statistics of both players as they are queued.
+ * A statistics read that raced with a save is not cached, because it may have missed the
+ * result: each save moves the version on before and after queueing, and a read is only
+ * stored if the version did not change while it ran.
+ * <p>
+ * Hits, misses and evictions are counted to size the cache for the active players.
+ */
+public final class PlayerCache {
+    private final int maxEntries;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Entry> entries;
+    private long version;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * What is known about one player; either part may still be missing.
+     */
+    private static final class Entry {
+        String password;
+        PlayerStats stats;
+    }
+
+    /**
+     * Constructor for an empty cache.
+     * @param maxEntries the number of players kept, 0 to cache nothing
+     */
+    public PlayerCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        // Access order makes iteration start at the least recently used player
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > PlayerCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Gets a player's password, counting a hit or a miss.
+     * @param username the player's name
+     * @return the password, or null if it is not cached
+     */
+    public String getPassword(String username) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(username);
+            return count(entry == null ? null : entry.password);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Caches the password of a player who exists in the database.
+     * @param username the player's name
+     * @param password the player's password
+     */
+    public void putPassword(String username, String password) {
+        lock.lock();
+        try {
+            entryFor(username).password = password;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets a player's statistics, counting a hit or a miss.
+     * @param username the player's name
+     * @return the statistics, or null if they are not cached
+     */
+    public PlayerStats getStats(String username) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(username);
+            return count(entry == null ? null : entry.stats);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the version to pass to {@link #putStats} for a read that is about to start.
+     * @return the current version
+     */
+    public long getVersion() {
+        lock.lock();
+        try {
+            return version;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Caches statistics read from the database, unless a result was saved since the read started.
+     * @param username the player's name
+     * @param stats the statistics read
+     * @param readVersion the version from {@link #getVersion()} before the read
+     */
+    public void putStats(String username, PlayerStats stats, long readVersion) {
+        lock.lock();
+        try {
+            if (version == readVersion) {
+                entryFor(username).stats = stats;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Applies a result to the cached statistics of both players, before it is queued.
+     * @param winner the winner's name
+     * @param loser the loser's name
+     * @param finishedAt when the game finished, in milliseconds since the epoch
+     */
+    public void resultSaving(String winner, String loser, long finishedAt) {
+        lock.lock();
+        try {
+            version++;
+            apply(winner, true, finishedAt);
+            apply(loser, false, finishedAt);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Marks the end of a save, after the result is queued.
+     */
+    public void resultSaved() {
+        lock.lock();
+        try {
+            version++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Forgets a player's cached statistics, e.g. when a result they include could not be written.
+     * The next lookup reads the database, and reads already running are not cached.
+     * @param username the player's name
+     */
+    public void invalidate(String username) {
+        lock.lock();
+        try {
+            version++;
+            Entry entry = entries.get(username);
+            if (entry != null) {
+                entry.stats = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes every player, e.g. when the database is closed. The counters are kept.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void apply(String username, boolean won, long finishedAt) {
+        // A player who just finished a game counts as recently used
+        Entry entry = entries.get(username);
+        if (entry != null && entry.stats != null) {
+            entry.stats = entry.stats.withResult(won, finishedAt);
+        }
+    }
+
+    private Entry entryFor(String username) {
+        Entry entry = entries.get(username);
+        if (entry == null) {
+            entry = new Entry();
+            if (maxEntries > 0) {
+                entries.put(username, entry);
+            }
+        }
+        return entry;
+    }
+
+    private <T> T count(T value) {
+        if (value == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return value;
+    }
+
+    /**
+     * Get the number of lookups answered from the cache.
+     * @return the hit count
+     */
+    public long getHits() {
+        lock.lock();
+        try {
+            return hits;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the number of lookups that had to read the database.
+     * @return the miss count
+     */
+    public long getMisses() {
+        lock.lock();
+        try {
+            return misses;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the number of players dropped to make room for others.
+     * @return the eviction count
+     */
+    public long getEvictions() {
+        lock.lock();
+        try {
+            return evictions;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the number of players currently cached.
+     * @return the cache size
+     */
+    public int getSize() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the largest number of players kept.
+     * @return the capacity
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    @Override
+    public String toString() {
+        lock.lock();
+        try {
+            long lookups = hits + misses;
+            return String.format("players=%d/%d hits=%d misses=%d hitRate=%.1f%% evictions=%d",
+                entries.size(), maxEntries, hits, misses,
+                lookups == 0 ? 0.0 : 100.0 * hits / lookups, evictions);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
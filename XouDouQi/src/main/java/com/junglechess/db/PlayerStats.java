@@ -0,0 +1,87 @@
+package com.junglechess.db;
+
+/**
+ * Immutable summary of a player's results, as kept in the {@code player_stats} table.
+ * The current streak is positive for consecutive wins and negative for consecutive losses.
+ */
+public final class PlayerStats {
+    /** Statistics of a player who has not finished a game yet. */
+    public static final PlayerStats NONE = new PlayerStats(0, 0, 0, 0, 0);
+
+    private final int wins;
+    private final int losses;
+    private final int currentStreak;
+    private final int bestStreak;
+    private final long lastPlayed;
+
+    /**
+     * Constructor for a set of statistics.
+     * @param wins the number of games won
+     * @param losses the number of games lost
+     * @param currentStreak consecutive wins if positive, consecutive losses if negative
+     * @param bestStreak the longest run of consecutive wins
+     * @param lastPlayed when the last game finished, in milliseconds since the epoch, or 0 if never
+     */
+    public PlayerStats(int wins, int losses, int currentStreak, int bestStreak, long lastPlayed) {
+        this.wins = wins;
+        this.losses = losses;
+        this.currentStreak = currentStreak;
+        this.bestStreak = bestStreak;
+        this.lastPlayed = lastPlayed;
+    }
+
+    /**
+     * Gets the statistics after one more game, applying the same rules as the table's updates.
+     * @param won true if the player won the game
+     * @param finishedAt when the game finished, in milliseconds since the epoch
+     * @return the updated statistics
+     */
+    public PlayerStats withResult(boolean won, long finishedAt) {
+        if (won) {
+            int streak = currentStreak > 0 ? currentStreak + 1 : 1;
+            return new PlayerStats(wins + 1, losses, streak, Math.max(bestStreak, streak), finishedAt);
+        }
+        int streak = currentStreak < 0 ? currentStreak - 1 : -1;
+        return new PlayerStats(wins, losses + 1, streak, bestStreak, finishedAt);
+    }
+
+    /**
+     * Get the number of games won.
+     * @return the number of wins
+     */
+    public int getWins() {
+        return wins;
+    }
+
+    /**
+     * Get the number of games lost.
+     * @return the number of losses
+     */
+    public int getLosses() {
+        return losses;
+    }
+
+    /**
+     * Get the current run of results.
+     * @return consecutive wins if positive, consecutive losses if negative, 0 before the first game
+     */
+    public int getCurrentStreak() {
+        return currentStreak;
+    }
+
+    /**
+     * Get the longest run of consecutive wins.
+     * @return the best win streak
+     */
+    public int getBestStreak() {
+        return bestStreak;
+    }
+
+    /**
+     * Get when the player last finished a game.
+     * @return milliseconds since the epoch, or 0 if never
+     */
+    public long getLastPlayed() {
+        return lastPlayed;
+    }
+}
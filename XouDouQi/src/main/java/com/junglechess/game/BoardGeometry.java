@@ -0,0 +1,160 @@
+package com.junglechess.game;
+
+import com.junglechess.model.Position;
+import com.junglechess.model.SquareType;
+
+/**
+ * Geometry of the 9x7 board, precomputed once when the class is loaded.
+ * For every square it holds the orthogonal neighbours, the landing square of a
+ * Lion or Tiger river jump in each direction, the water squares that jump crosses
+ * and the terrain with trap ownership, so move validation is a few array lookups.
+ * Squares use the {@code row * 7 + col} numbering of {@link Position};
+ * directions are indexed up, down, left, right.
+ */
+public final class BoardGeometry {
+    /** Number of orthogonal directions. */
+    public static final int DIRECTIONS = 4;
+
+    /** Value stored for a neighbour or landing square that does not exist. */
+    public static final int NO_SQUARE = -1;
+
+    /** Value returned by {@link #trapOwner(int)} for squares that are not traps. */
+    public static final int NO_OWNER = -1;
+
+    private static final int[] ROW_STEPS = {-1, 1, 0, 0};
+    private static final int[] COLUMN_STEPS = {0, 0, -1, 1};
+
+    // Indexed [square * DIRECTIONS + direction]
+    private static final int[] NEIGHBOURS = new int[Position.SQUARE_COUNT * DIRECTIONS];
+    private static final int[] JUMP_LANDINGS = new int[Position.SQUARE_COUNT * DIRECTIONS];
+    private static final long[] JUMP_CROSSED = new long[Position.SQUARE_COUNT * DIRECTIONS];
+
+    // Indexed [square]
+    private static final long[] NEIGHBOUR_MASKS = new long[Position.SQUARE_COUNT];
+    private static final SquareType[] TERRAIN = new SquareType[Position.SQUARE_COUNT];
+    private static final int[] TRAP_OWNERS = new int[Position.SQUARE_COUNT];
+
+    static {
+        for (int square = 0; square < Position.SQUARE_COUNT; square++) {
+            int row = Position.row(square);
+            int col = Position.column(square);
+            for (int dir = 0; dir < DIRECTIONS; dir++) {
+                int slot = square * DIRECTIONS + dir;
+                NEIGHBOURS[slot] = NO_SQUARE;
+                JUMP_LANDINGS[slot] = NO_SQUARE;
+
+                int toRow = row + ROW_STEPS[dir];
+                int toCol = col + COLUMN_STEPS[dir];
+                if (!Position.isOnBoard(toRow, toCol)) {
+                    continue;
+                }
+                int neighbour = Position.index(toRow, toCol);
+                NEIGHBOURS[slot] = neighbour;
+                NEIGHBOUR_MASKS[square] |= Position.bit(neighbour);
+
+                // A jump starts on land, crosses water only and lands on the first land square
+                if (isWater(square) || !isWater(neighbour)) {
+                    continue;
+                }
+                long crossed = 0L;
+                while (Position.isOnBoard(toRow, toCol) && isWater(Position.index(toRow, toCol))) {
+                    crossed |= Position.bit(Position.index(toRow, toCol));
+                    toRow += ROW_STEPS[dir];
+                    toCol += COLUMN_STEPS[dir];
+                }
+                if (Position.isOnBoard(toRow, toCol)) {
+                    JUMP_LANDINGS[slot] = Position.index(toRow, toCol);
+                    JUMP_CROSSED[slot] = crossed;
+                }
+            }
+
+            TERRAIN[square] = Position.terrainAt(square);
+            long mask = Position.bit(square);
+            TRAP_OWNERS[square] = (Position.RED_TRAP_MASK & mask) != 0 ? Position.RED
+                                : (Position.BLUE_TRAP_MASK & mask) != 0 ? Position.BLUE
+                                : NO_OWNER;
+        }
+    }
+
+    private BoardGeometry() {
+    }
+
+    private static boolean isWater(int square) {
+        return (Position.RIVER_MASK & Position.bit(square)) != 0;
+    }
+
+    /**
+     * Gets the neighbour of a square in one direction.
+     * @param square the square index
+     * @param dir the direction, 0 to 3
+     * @return the neighbouring square index, or {@link #NO_SQUARE} at the board edge
+     */
+    public static int neighbour(int square, int dir) {
+        return NEIGHBOURS[square * DIRECTIONS + dir];
+    }
+
+    /**
+     * Checks if two squares are orthogonally adjacent.
+     * @param from the source square index
+     * @param to the destination square index
+     * @return true if the squares share an edge
+     */
+    public static boolean isAdjacent(int from, int to) {
+        return (NEIGHBOUR_MASKS[from] & Position.bit(to)) != 0;
+    }
+
+    /**
+     * Gets the landing square of a river jump in one direction.
+     * @param square the square the Lion or Tiger jumps from
+     * @param dir the direction, 0 to 3
+     * @return the landing square index, or {@link #NO_SQUARE} if there is no river to jump that way
+     */
+    public static int jumpLanding(int square, int dir) {
+        return JUMP_LANDINGS[square * DIRECTIONS + dir];
+    }
+
+    /**
+     * Gets the water squares crossed by a river jump; a Rat on any of them blocks it.
+     * @param square the square the Lion or Tiger jumps from
+     * @param dir the direction, 0 to 3
+     * @return the mask of crossed squares, 0 if there is no jump that way
+     */
+    public static long jumpCrossed(int square, int dir) {
+        return JUMP_CROSSED[square * DIRECTIONS + dir];
+    }
+
+    /**
+     * Finds the water crossed by a river jump between two squares.
+     * @param from the source square index
+     * @param to the destination square index
+     * @return the mask of crossed squares, or 0 if no river jump leads from one square to the other
+     */
+    public static long jumpBetween(int from, int to) {
+        int slot = from * DIRECTIONS;
+        for (int dir = 0; dir < DIRECTIONS; dir++) {
+            if (JUMP_LANDINGS[slot + dir] == to) {
+                return JUMP_CROSSED[slot + dir];
+            }
+        }
+        return 0L;
+    }
+
+    /**
+     * Gets the terrain of a square.
+     * @param square the square index
+     * @return the square type
+     */
+    public static SquareType terrain(int square) {
+        return TERRAIN[square];
+    }
+
+    /**
+     * Gets the side whose trap a square is. Pieces of the other side standing
+     * on it can be captured by any piece.
+     * @param square the square index
+     * @return Position.RED or Position.BLUE, or {@link #NO_OWNER} if the square is not a trap
+     */
+    public static int trapOwner(int square) {
+        return TRAP_OWNERS[square];
+    }
+}
@@ -1,21 +1,45 @@
 package com.junglechess.game;
 
+import java.util.Arrays;
+
 import com.junglechess.model.Board;
+import com.junglechess.model.CaptureRules;
 import com.junglechess.model.Piece;
 import com.junglechess.model.Player;
+import com.junglechess.model.Position;
+import com.junglechess.model.PositionNotation;
+import com.junglechess.model.PositionSnapshot;
 import com.junglechess.model.Rank;
 import com.junglechess.model.Square;
-import com.junglechess.model.SquareType;
 
 /**
  * Class representing the game engine for Jungle Chess.
  * Handles all game rules, move validation, and game state.
  */
 public class Game {
+    // Undo entries pack the move (bits 0-11), the captured piece code (bits 12-16),
+    // the side that was to move (bit 17) and the previous result (bits 18-20)
+    private static final int CAPTURED_SHIFT = 12;
+    private static final int MOVE_MASK = (1 << CAPTURED_SHIFT) - 1;
+    private static final int SIDE_SHIFT = 17;
+    private static final int RESULT_SHIFT = 18;
+    private static final int NO_WINNER = -1;
+    private static final WinReason[] WIN_REASONS = WinReason.values();
+
+    // Prints a trace of every validated move; a compile-time constant so the trace costs nothing when off
+    private static final boolean DEBUG = false;
+
     private Board board;
+    private final Position position;
     private Player player1;
     private Player player2;
-    private Player currentPlayer;    /**
+    private int[] undoStack = new int[256];
+    private Piece[] capturedPieces = new Piece[256]; // Only used while a board is attached
+    private int undoCount;
+    private int winnerSide = NO_WINNER;
+    private WinReason winReason;
+
+    /**
      * Constructor to initialize a new game with two players.
      * @param player1 the first player
      * @param player2 the second player
@@ -24,7 +48,35 @@ public class Game {
         this.player1 = player1;
         this.player2 = player2;
         this.board = new Board(player1, player2); // Pass players to board
-        this.currentPlayer = player1; // Player 1 starts the game
+        this.position = board.getPosition(); // Player 1 (Red) starts the game
+        detectResult();
+    }
+
+    /**
+     * Constructor to start a game from an arbitrary bitboard position.
+     * The game runs on its own copy of the position and only builds a
+     * {@link Board} of {@link Square} objects if {@link #getBoard()} is called.
+     * @param player1 the first player (Red)
+     * @param player2 the second player (Blue)
+     * @param position the position to start from, including the side to move
+     */
+    public Game(Player player1, Player player2, Position position) {
+        this.player1 = player1;
+        this.player2 = player2;
+        this.position = position.copy();
+        detectResult();
+    }
+
+    /**
+     * Constructor to start a game from a position written in {@link PositionNotation}.
+     * Like {@link #Game(Player, Player, Position)}, no board is built until it is needed.
+     * @param player1 the first player (Red)
+     * @param player2 the second player (Blue)
+     * @param notation the position, including the side to move
+     * @throws IllegalArgumentException if the notation is malformed
+     */
+    public Game(Player player1, Player player2, String notation) {
+        this(player1, player2, PositionNotation.parse(notation));
     }
 
     /**
@@ -35,239 +87,396 @@ public class Game {
      * @param toRow the destination row
      * @param toCol the destination column
      * @return true if move was successful, false otherwise
-     */    public boolean movePiece(Player player, int fromRow, int fromCol, int toRow, int toCol) {
+     */
+    public boolean movePiece(Player player, int fromRow, int fromCol, int toRow, int toCol) {
         // Check if it's the player's turn
-        if (!player.equals(currentPlayer)) {
+        if (!player.equals(getCurrentPlayer())) {
             return false;
         }
 
         // Check if source and destination are within bounds
-        Square sourceSquare = board.getSquare(fromRow, fromCol);
-        Square destSquare = board.getSquare(toRow, toCol);
-        
-        if (sourceSquare == null || destSquare == null) {
+        if (!Position.isOnBoard(fromRow, fromCol) || !Position.isOnBoard(toRow, toCol)) {
             return false;
         }
 
+        int from = Position.index(fromRow, fromCol);
+        int to = Position.index(toRow, toCol);
+        int side = position.getSideToMove();
+
         // Check if there's a piece at the source square and it belongs to the player
-        Piece piece = sourceSquare.getPiece();
+        int piece = position.pieceAt(from);
         
-        // DEBUG: Add debug output
-        System.out.println("=== MOVE DEBUG ===");
-        System.out.println("From: (" + fromRow + "," + fromCol + ") To: (" + toRow + "," + toCol + ")");
-        System.out.println("Piece at source: " + (piece != null ? piece.getRank() : "null"));
-        if (piece != null) {
-            System.out.println("Piece owner: '" + piece.getOwner().getName() + "'");
-            System.out.println("Piece owner object: " + piece.getOwner());
+        // Debug output is compiled out unless DEBUG is switched on
+        if (DEBUG) {
+            System.out.println("=== MOVE DEBUG ===");
+            System.out.println("From: (" + fromRow + "," + fromCol + ") To: (" + toRow + "," + toCol + ")");
+            System.out.println("Piece at source: " + (piece != Position.EMPTY ? Position.rankOf(piece) : "null"));
+            if (piece != Position.EMPTY) {
+                System.out.println("Piece owner: '" + playerOf(Position.sideOf(piece)).getName() + "'");
+            }
+            System.out.println("Current player: '" + player.getName() + "'");
+            System.out.println("Players equal (==): " + (piece != Position.EMPTY ? Position.sideOf(piece) == side : "N/A"));
+            System.out.println("==================");
         }
-        System.out.println("Current player: '" + player.getName() + "'");
-        System.out.println("Current player object: " + player);        System.out.println("Players equal (==): " + (piece != null ? piece.getOwner().equals(player) : "N/A"));
-        System.out.println("==================");
         
-        if (piece == null || !piece.getOwner().equals(player)) {
+        if (piece == Position.EMPTY || Position.sideOf(piece) != side) {
             return false;
         }
+        Rank rank = Position.rankOf(piece);
 
         // Check if move is adjacent (no diagonals)
-        if (!isAdjacentMove(fromRow, fromCol, toRow, toCol)) {
+        if (!BoardGeometry.isAdjacent(from, to)) {
             // Special case for Lion and Tiger jumping over river
-            if ((piece.getRank() == Rank.LION || piece.getRank() == Rank.TIGRE) && 
-                canJumpRiver(fromRow, fromCol, toRow, toCol)) {
+            if ((rank == Rank.LION || rank == Rank.TIGRE) && canJumpRiver(from, to)) {
                 // Continue processing the move
             } else {
                 return false;
             }
-        }        // Check if destination is the player's own sanctuary
-        if ((player.equals(player1) && destSquare.getType() == SquareType.SANCTUAIRE_RED) ||
-            (player.equals(player2) && destSquare.getType() == SquareType.SANCTUAIRE_BLUE)) {
-            return false;
         }
 
-        // Check river rule: Only RAT can enter water
-        if (destSquare.getType() == SquareType.RIVIERE && piece.getRank() != Rank.RAT) {
+        // Check den, river and capture rules for the destination
+        if (!canEnter(side, rank, from, to)) {
             return false;
         }
 
-        // Check if destination has a piece that can be captured
-        Piece targetPiece = destSquare.getPiece();
-        if (targetPiece != null) {            // Trap rule: Any piece in an enemy trap can be captured by any piece
-            boolean isInEnemyTrap = 
-                (targetPiece.getOwner().equals(player1) && destSquare.getType() == SquareType.PIEGE && 
-                 isBluePlayerTrap(toRow, toCol)) ||
-                (targetPiece.getOwner().equals(player2) && destSquare.getType() == SquareType.PIEGE && 
-                 isRedPlayerTrap(toRow, toCol));
-                
-            // Check if the piece can capture the target
-            if (!isInEnemyTrap && !piece.canCapture(targetPiece)) {
-                return false;
-            }
+        // All validations passed, execute the move
+        makeMove(Move.encode(from, to));
+        return true;
+    }
+
+    /**
+     * Plays a move without validating it and records it on the undo stack.
+     * The turn passes to the other side unless the move enters the opponent's
+     * sanctuary, in which case the winner stays the current player.
+     * @param move a legal move packed with {@link Move#encode(int, int)}
+     */
+    public void makeMove(int move) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        int side = position.getSideToMove();
+        int captured = position.pieceAt(to);
+
+        if (undoCount == undoStack.length) {
+            undoStack = Arrays.copyOf(undoStack, undoCount * 2);
+            capturedPieces = Arrays.copyOf(capturedPieces, undoCount * 2);
         }
+        undoStack[undoCount] = move | (captured << CAPTURED_SHIFT) | (side << SIDE_SHIFT)
+            | (packResult() << RESULT_SHIFT);
 
-        // All validations passed, execute the move
-        destSquare.setPiece(piece);
-        sourceSquare.setPiece(null);        // Check for win condition
-        if ((player.equals(player1) && destSquare.getType() == SquareType.SANCTUAIRE_BLUE) ||
-            (player.equals(player2) && destSquare.getType() == SquareType.SANCTUAIRE_RED)) {
+        if (board != null) {
+            // The board's squares write through to the position
+            Square sourceSquare = board.getSquare(Position.row(from), Position.column(from));
+            Square destSquare = board.getSquare(Position.row(to), Position.column(to));
+            capturedPieces[undoCount] = destSquare.getPiece();
+            destSquare.setPiece(sourceSquare.getPiece());
+            sourceSquare.setPiece(null);
+        } else {
+            position.move(from, to);
+        }
+        undoCount++;
+
+        // Check for win conditions; the winner stays the current player
+        int opponent = side ^ 1;
+        long enemyDen = side == Position.RED ? Position.BLUE_DEN_MASK : Position.RED_DEN_MASK;
+        if ((enemyDen & Position.bit(to)) != 0) {
             // Player has entered opponent's sanctuary, game is won
-            return true;
+            setResult(side, WinReason.SANCTUARY);
+            return;
+        }
+        if (captured != Position.EMPTY && position.occupancy(opponent) == 0) {
+            setResult(side, WinReason.NO_PIECES);
+            return;
+        }
+        if (generateMoves(opponent, null) == 0) {
+            setResult(side, WinReason.NO_MOVES);
+            return;
         }
 
         // Switch turns
         switchTurn();
+    }
+
+    /**
+     * Takes back the last move played with {@link #makeMove(int)} or {@link #movePiece}.
+     * Restores the moved piece, any captured piece and the side to move in O(1).
+     * @return true if a move was undone, false if there was nothing to undo
+     */
+    public boolean unmakeMove() {
+        if (undoCount == 0) {
+            return false;
+        }
+        undoCount--;
+        int entry = undoStack[undoCount];
+        int from = Move.from(entry);
+        int to = Move.to(entry);
+        int captured = (entry >>> CAPTURED_SHIFT) & 31;
+
+        if (board != null) {
+            Square sourceSquare = board.getSquare(Position.row(from), Position.column(from));
+            Square destSquare = board.getSquare(Position.row(to), Position.column(to));
+            Piece capturedPiece = capturedPieces[undoCount];
+            if (capturedPiece == null && captured != Position.EMPTY) {
+                // Captured before the board was built: rebuild the piece from its code
+                capturedPiece = new Piece(Position.rankOf(captured), playerOf(Position.sideOf(captured)));
+            }
+            sourceSquare.setPiece(destSquare.getPiece());
+            destSquare.setPiece(capturedPiece);
+            capturedPieces[undoCount] = null;
+        } else {
+            position.move(to, from);
+            if (captured != Position.EMPTY) {
+                position.placeCode(to, captured);
+            }
+        }
+        position.setSideToMove((entry >>> SIDE_SHIFT) & 1);
+        unpackResult(entry >>> RESULT_SHIFT);
         return true;
     }
 
     /**
-     * Checks if a move is to an adjacent square (no diagonals).
-     * @param fromRow source row
-     * @param fromCol source column
-     * @param toRow destination row
-     * @param toCol destination column
-     * @return true if the move is adjacent, false otherwise
+     * Gets the number of moves played since the game started.
+     * The undo stack doubles as the game's move list, so nothing extra is recorded per move.
+     * @return the number of moves that can be read with {@link #getMove(int)}
      */
-    private boolean isAdjacentMove(int fromRow, int fromCol, int toRow, int toCol) {
-        int rowDiff = Math.abs(toRow - fromRow);
-        int colDiff = Math.abs(toCol - fromCol);
-        
-        // Adjacent means exactly one square horizontally or vertically
-        return (rowDiff == 1 && colDiff == 0) || (rowDiff == 0 && colDiff == 1);
+    public int getMoveCount() {
+        return undoCount;
     }
 
     /**
-     * Checks if a Lion or Tiger can jump over the river.
-     * @param fromRow source row
-     * @param fromCol source column
-     * @param toRow destination row
-     * @param toCol destination column
-     * @return true if the jump is valid, false otherwise
+     * Gets a move played in this game.
+     * @param ply the index of the move, 0 for the first move of the game
+     * @return the move packed with {@link Move#encode(int, int)}
+     * @throws IndexOutOfBoundsException if fewer moves were played
      */
-    private boolean canJumpRiver(int fromRow, int fromCol, int toRow, int toCol) {
-        // Jump must be horizontal or vertical, not diagonal
-        if (fromRow != toRow && fromCol != toCol) {
-            return false;
+    public int getMove(int ply) {
+        if (ply < 0 || ply >= undoCount) {
+            throw new IndexOutOfBoundsException("No move " + ply + " in a game of " + undoCount + " moves");
         }
-        
-        // Check if jumping horizontally
-        if (fromRow == toRow) {
-            int minCol = Math.min(fromCol, toCol);
-            int maxCol = Math.max(fromCol, toCol);
-            
-            // Verify it's a river jump
-            boolean isRiverJump = false;
-            for (int col = minCol + 1; col < maxCol; col++) {
-                Square square = board.getSquare(fromRow, col);
-                if (square.getType() == SquareType.RIVIERE) {
-                    isRiverJump = true;
-                } else if (square.getPiece() != null) {
-                    // Can't jump over pieces
-                    return false;
+        return undoStack[ply] & MOVE_MASK;
+    }
+
+    /**
+     * Computes the result of the current position from scratch.
+     * Only needed when a game starts; afterwards makeMove keeps it up to date.
+     */
+    private void detectResult() {
+        winnerSide = NO_WINNER;
+        winReason = null;
+        int side = position.getSideToMove();
+        int opponent = side ^ 1;
+        if ((position.occupancy(Position.RED) & Position.BLUE_DEN_MASK) != 0) {
+            setResult(Position.RED, WinReason.SANCTUARY);
+        } else if ((position.occupancy(Position.BLUE) & Position.RED_DEN_MASK) != 0) {
+            setResult(Position.BLUE, WinReason.SANCTUARY);
+        } else if (position.occupancy(Position.RED) == 0) {
+            setResult(Position.BLUE, WinReason.NO_PIECES);
+        } else if (position.occupancy(Position.BLUE) == 0) {
+            setResult(Position.RED, WinReason.NO_PIECES);
+        } else if (generateMoves(side, null) == 0) {
+            setResult(opponent, WinReason.NO_MOVES);
+        }
+    }
+
+    private void setResult(int side, WinReason reason) {
+        winnerSide = side;
+        winReason = reason;
+    }
+
+    /**
+     * Packs the current result into 3 bits: 0 while playing, otherwise
+     * the win reason ordinal plus one, with the winning side in the top bit.
+     */
+    private int packResult() {
+        return winReason == null ? 0 : (winReason.ordinal() + 1) | (winnerSide << 2);
+    }
+
+    private void unpackResult(int packed) {
+        int reason = packed & 3;
+        if (reason == 0) {
+            winnerSide = NO_WINNER;
+            winReason = null;
+        } else {
+            winnerSide = (packed >>> 2) & 1;
+            winReason = WIN_REASONS[reason - 1];
+        }
+    }
+
+    /**
+     * Writes every legal move of the side to move into a caller-supplied buffer.
+     * Moves are packed with {@link Move#encode(int, int)}; the buffer needs room for
+     * {@link Move#MAX_MOVES} entries. No objects are allocated, so search and
+     * self-play can call this at every node.
+     * @param buffer the array receiving the packed moves, starting at index 0
+     * @return the number of moves written, 0 if the game is over
+     */
+    public int generateMoves(int[] buffer) {
+        if (isGameOver()) {
+            return 0;
+        }
+        return generateMoves(position.getSideToMove(), buffer);
+    }
+
+    /**
+     * Generates the legal moves of one side.
+     * @param side the side to generate moves for
+     * @param buffer the array receiving the packed moves, or null to stop at the first legal move
+     * @return the number of moves found (at most 1 when buffer is null)
+     */
+    private int generateMoves(int side, int[] buffer) {
+        int count = 0;
+        long pieces = position.occupancy(side);
+        while (pieces != 0) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+            Rank rank = Position.rankOf(position.pieceAt(from));
+            boolean jumper = rank == Rank.LION || rank == Rank.TIGRE;
+            for (int dir = 0; dir < BoardGeometry.DIRECTIONS; dir++) {
+                int to = BoardGeometry.neighbour(from, dir);
+                if (to == BoardGeometry.NO_SQUARE) {
+                    continue;
                 }
-            }
-            
-            // Check for Rat in the river blocking the jump
-            if (isRiverJump) {
-                for (int col = minCol + 1; col < maxCol; col++) {
-                    if (hasRatInRiver(fromRow, col)) {
-                        return false;
+                if (jumper && (Position.RIVER_MASK & Position.bit(to)) != 0) {
+                    // Lion and Tiger cross the whole river in a straight line unless a Rat blocks it
+                    to = BoardGeometry.jumpLanding(from, dir);
+                    if (to == BoardGeometry.NO_SQUARE
+                        || (BoardGeometry.jumpCrossed(from, dir) & position.rankMask(Rank.RAT)) != 0) {
+                        continue;
                     }
                 }
-                return true;
-            }
-        }
-        
-        // Check if jumping vertically
-        if (fromCol == toCol) {
-            int minRow = Math.min(fromRow, toRow);
-            int maxRow = Math.max(fromRow, toRow);
-            
-            // Verify it's a river jump
-            boolean isRiverJump = false;
-            for (int row = minRow + 1; row < maxRow; row++) {
-                Square square = board.getSquare(row, fromCol);
-                if (square.getType() == SquareType.RIVIERE) {
-                    isRiverJump = true;
-                } else if (square.getPiece() != null) {
-                    // Can't jump over pieces
-                    return false;
-                }
-            }
-            
-            // Check for Rat in the river blocking the jump
-            if (isRiverJump) {
-                for (int row = minRow + 1; row < maxRow; row++) {
-                    if (hasRatInRiver(row, fromCol)) {
-                        return false;
+                if (canEnter(side, rank, from, to)) {
+                    if (buffer == null) {
+                        return 1;
                     }
+                    buffer[count++] = Move.encode(from, to);
                 }
-                return true;
             }
         }
-        
-        return false;
+        return count;
     }
 
     /**
-     * Checks if there is a Rat in the river at the given position.
-     * @param row the row to check
-     * @param col the column to check
-     * @return true if there is a Rat in the river, false otherwise
+     * Checks the destination rules shared by every move: own den exclusion,
+     * river access and captures (including the trap rule).
+     * Geometry (adjacency or river jump) must already have been checked.
+     * @param side the side of the moving piece
+     * @param rank the rank of the moving piece
+     * @param from the source square index
+     * @param to the destination square index
+     * @return true if the piece may move onto the square
      */
-    private boolean hasRatInRiver(int row, int col) {
-        Square square = board.getSquare(row, col);
-        if (square != null && square.getType() == SquareType.RIVIERE) {
-            Piece piece = square.getPiece();
-            return piece != null && piece.getRank() == Rank.RAT;
+    private boolean canEnter(int side, Rank rank, int from, int to) {
+        long destination = Position.bit(to);
+
+        // Check if destination is the player's own sanctuary
+        long ownDen = side == Position.RED ? Position.RED_DEN_MASK : Position.BLUE_DEN_MASK;
+        if ((ownDen & destination) != 0) {
+            return false;
+        }
+
+        // Check river rule: Only RAT can enter water
+        if ((Position.RIVER_MASK & destination) != 0 && rank != Rank.RAT) {
+            return false;
+        }
+
+        // Check if destination has a piece that can be captured
+        int target = position.pieceAt(to);
+        if (target == Position.EMPTY) {
+            return true;
+        }
+
+        // Cannot capture own pieces
+        int targetSide = Position.sideOf(target);
+        if (targetSide == side) {
+            return false;
         }
-        return false;
+
+        // Trap weakening and the river rule come from the terrain of both squares
+        int terrain = CaptureRules.terrain(BoardGeometry.trapOwner(to) == side,
+                                           (Position.RIVER_MASK & Position.bit(from)) != 0,
+                                           (Position.RIVER_MASK & destination) != 0);
+        return CaptureRules.canCapture(rank.ordinal(), Position.rankIndexOf(target), terrain);
     }
 
     /**
-     * Checks if a position is a Red player's trap.
-     * @param row the row to check
-     * @param col the column to check
-     * @return true if it's a Red player's trap, false otherwise
+     * Checks if a Lion or Tiger can jump over the river.
+     * A jump goes in a straight line across water squares only and lands on
+     * the first land square beyond them; any Rat in the crossed water blocks it.
+     * @param from the source square index
+     * @param to the destination square index
+     * @return true if the jump is valid, false otherwise
      */
-    private boolean isRedPlayerTrap(int row, int col) {
-        return (row == 8 && col == 2) || (row == 8 && col == 4) || (row == 7 && col == 3);
+    private boolean canJumpRiver(int from, int to) {
+        long crossed = BoardGeometry.jumpBetween(from, to);
+        return crossed != 0 && (crossed & position.rankMask(Rank.RAT)) == 0;
     }
 
     /**
-     * Checks if a position is a Blue player's trap.
-     * @param row the row to check
-     * @param col the column to check
-     * @return true if it's a Blue player's trap, false otherwise
-     */
-    private boolean isBluePlayerTrap(int row, int col) {
-        return (row == 0 && col == 2) || (row == 0 && col == 4) || (row == 1 && col == 3);
-    }    /**
      * Switches the current player.
      */
     public void switchTurn() {
-        currentPlayer = (currentPlayer.equals(player1)) ? player2 : player1;
+        position.switchSide();
     }
 
     /**
      * Checks if the game is over.
-     * @return true if a player has entered the opponent's sanctuary, false otherwise
+     * The result is tracked as moves are made, so this is a single field read.
+     * @return true if a player has entered the opponent's sanctuary, captured every
+     *         enemy piece or left the opponent without a legal move
      */
     public boolean isGameOver() {
-        // Check if any piece has entered the opponent's sanctuary
-        for (int row = 0; row < board.getRowCount(); row++) {
-            for (int col = 0; col < board.getColumnCount(); col++) {
-                Square square = board.getSquare(row, col);
-                if (square != null) {
-                    SquareType type = square.getType();
-                    Piece piece = square.getPiece();
-                      if (piece != null) {
-                        if ((type == SquareType.SANCTUAIRE_BLUE && piece.getOwner().equals(player1)) ||
-                            (type == SquareType.SANCTUAIRE_RED && piece.getOwner().equals(player2))) {
-                            return true;
-                        }
-                    }
-                }
-            }
-        }
-        return false;
+        return winnerSide != NO_WINNER;
+    }
+
+    /**
+     * Gets the winner of the game.
+     * @return the winning player, or null while the game is still being played
+     */
+    public Player getWinner() {
+        return winnerSide == NO_WINNER ? null : playerOf(winnerSide);
+    }
+
+    /**
+     * Gets the side index of the winner.
+     * @return Position.RED or Position.BLUE, or -1 while the game is still being played
+     */
+    public int getWinnerSide() {
+        return winnerSide;
+    }
+
+    /**
+     * Gets how the game was won.
+     * @return the win reason, or null while the game is still being played
+     */
+    public WinReason getWinReason() {
+        return winReason;
+    }
+
+    /**
+     * Gets the player owning a side of the position.
+     * @param side Position.RED or Position.BLUE
+     * @return player 1 for Red, player 2 for Blue
+     */
+    private Player playerOf(int side) {
+        return side == Position.RED ? player1 : player2;
+    }
+
+    /**
+     * Gets the 64-bit Zobrist key of the current position.
+     * The key covers every piece and the side to move and is updated
+     * incrementally as moves are made and undone.
+     * @return the position key
+     */
+    public long positionKey() {
+        return position.getKey();
+    }
+
+    /**
+     * Takes an immutable snapshot of the current position for spectators,
+     * analysis or persistence; the game can keep playing while it is read.
+     * @return the snapshot of the pieces, side to move and key
+     */
+    public PositionSnapshot snapshot() {
+        return position.snapshot();
     }
 
     /**
@@ -275,17 +484,29 @@ public class Game {
      * @return the current player
      */
     public Player getCurrentPlayer() {
-        return currentPlayer;
+        return playerOf(position.getSideToMove());
     }
 
     /**
      * Gets the board.
+     * Games started from a position build their board on first use.
      * @return the game board
      */
     public Board getBoard() {
+        if (board == null) {
+            board = new Board(player1, player2, position);
+        }
         return board;
     }
 
+    /**
+     * Gets the bitboard position the rules are evaluated on.
+     * @return the live position of this game
+     */
+    public Position getPosition() {
+        return position;
+    }
+
     /**
      * Gets player 1.
      * @return player 1
@@ -0,0 +1,77 @@
+package com.junglechess.game;
+
+import com.junglechess.model.Position;
+
+/**
+ * Helpers for moves packed into a single {@code int}.
+ * Bits 0-5 hold the source square index and bits 6-11 the destination square index,
+ * using the {@code row * 7 + col} numbering of {@link Position}.
+ */
+public final class Move {
+    /** Upper bound on the number of legal moves in any position (8 pieces, 4 directions). */
+    public static final int MAX_MOVES = 32;
+
+    /** Value that never encodes a legal move. */
+    public static final int NONE = -1;
+
+    private Move() {
+    }
+
+    /**
+     * Packs a move.
+     * @param from the source square index
+     * @param to the destination square index
+     * @return the packed move
+     */
+    public static int encode(int from, int to) {
+        return from | (to << 6);
+    }
+
+    /**
+     * Gets the source square of a packed move.
+     * @param move the packed move
+     * @return the source square index
+     */
+    public static int from(int move) {
+        return move & 63;
+    }
+
+    /**
+     * Gets the destination square of a packed move.
+     * @param move the packed move
+     * @return the destination square index
+     */
+    public static int to(int move) {
+        return (move >>> 6) & 63;
+    }
+
+    /**
+     * Formats a packed move in the console's coordinate system, e.g. "A7 A6".
+     * @param move the packed move
+     * @return the move as two coordinates separated by a space
+     */
+    public static String toString(int move) {
+        return coordinate(from(move)) + " " + coordinate(to(move));
+    }
+
+    /**
+     * Parses a coordinate in the console's system, e.g. "A7" or "a7".
+     * @param coordinate the column letter A-G followed by the row number 1-9
+     * @return the square index, or {@link BoardGeometry#NO_SQUARE} if the coordinate is invalid
+     */
+    public static int parseSquare(String coordinate) {
+        if (coordinate == null || coordinate.length() != 2) {
+            return BoardGeometry.NO_SQUARE;
+        }
+        int col = Character.toUpperCase(coordinate.charAt(0)) - 'A';
+        int row = coordinate.charAt(1) - '1';
+        if (!Position.isOnBoard(row, col)) {
+            return BoardGeometry.NO_SQUARE;
+        }
+        return Position.index(row, col);
+    }
+
+    private static String coordinate(int square) {
+        return "" + (char) ('A' + Position.column(square)) + (char) ('1' + Position.row(square));
+    }
+}
@@ -0,0 +1,147 @@
+package com.junglechess.game;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import com.junglechess.model.Position;
+
+/**
+ * Compact binary format for the moves of a game, one byte for most moves.
+ * A step to a neighbouring square is stored as its source square (0-62) in the low six bits
+ * and its direction in the top two, since the destination follows from those. The source
+ * value 63 never occurs, so it marks a Lion or Tiger river jump: the direction byte is followed
+ * by a second byte with the source square, and the destination is the jump's landing square.
+ * <p>
+ * Moves are written and read one at a time on a {@link ByteBuffer} without allocating,
+ * so a record can be streamed from a byte array, a BLOB or a mapped file.
+ * Decoding needs no position, but replaying a record needs the position the game started from.
+ */
+public final class MoveRecord {
+    /** Largest number of bytes one move takes. */
+    public static final int MAX_BYTES_PER_MOVE = 2;
+
+    private static final int JUMP = 63;
+    private static final int SQUARE_MASK = 63;
+    private static final int DIRECTION_SHIFT = 6;
+
+    private MoveRecord() {
+    }
+
+    /**
+     * Gets the number of bytes a move takes.
+     * @param move a move packed with {@link Move#encode(int, int)}
+     * @return 1 for a step, 2 for a river jump
+     */
+    public static int encodedLength(int move) {
+        return isStep(move) ? 1 : 2;
+    }
+
+    /**
+     * Writes one move at the buffer's position.
+     * @param move a legal move packed with {@link Move#encode(int, int)}
+     * @param out the buffer, with room for {@link #MAX_BYTES_PER_MOVE} bytes
+     */
+    public static void write(int move, ByteBuffer out) {
+        int from = Move.from(move);
+        int direction = direction(from, Move.to(move)) << DIRECTION_SHIFT;
+        if (isStep(move)) {
+            out.put((byte) (direction | from));
+        } else {
+            out.put((byte) (direction | JUMP));
+            out.put((byte) from);
+        }
+    }
+
+    /**
+     * Reads the move at the buffer's position.
+     * @param in the buffer, with at least one move remaining
+     * @return the move packed with {@link Move#encode(int, int)}
+     * @throws IllegalArgumentException if the bytes are not a move, e.g. in a corrupt or truncated record
+     */
+    public static int read(ByteBuffer in) {
+        int first = in.get() & 0xFF;
+        int direction = first >>> DIRECTION_SHIFT;
+        int from = first & SQUARE_MASK;
+        int to;
+        if (from == JUMP) {
+            if (!in.hasRemaining()) {
+                throw new IllegalArgumentException("Corrupt move record: river jump without its source square");
+            }
+            from = in.get() & 0xFF;
+            if (from >= Position.SQUARE_COUNT) {
+                throw new IllegalArgumentException("Corrupt move record: no square " + from);
+            }
+            to = BoardGeometry.jumpLanding(from, direction);
+        } else {
+            to = BoardGeometry.neighbour(from, direction);
+        }
+        // A step off the board edge or a jump where there is no river was never written
+        if (to == BoardGeometry.NO_SQUARE) {
+            throw new IllegalArgumentException("Corrupt move record: no move from square " + from + " in direction " + direction);
+        }
+        return Move.encode(from, to);
+    }
+
+    /**
+     * Encodes a whole list of moves.
+     * @param moves the moves packed with {@link Move#encode(int, int)}
+     * @param count the number of moves to encode
+     * @return the record
+     */
+    public static byte[] encode(int[] moves, int count) {
+        int length = 0;
+        for (int i = 0; i < count; i++) {
+            length += encodedLength(moves[i]);
+        }
+        ByteBuffer out = ByteBuffer.allocate(length);
+        for (int i = 0; i < count; i++) {
+            write(moves[i], out);
+        }
+        return out.array();
+    }
+
+    /**
+     * Encodes the moves played in a game so far.
+     * @param game the game
+     * @return the record, to replay from the position the game started from
+     */
+    public static byte[] encode(Game game) {
+        int[] moves = new int[game.getMoveCount()];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = game.getMove(i);
+        }
+        return encode(moves, moves.length);
+    }
+
+    /**
+     * Decodes a whole record.
+     * @param record the bytes written by {@link #encode(int[], int)}
+     * @return the moves packed with {@link Move#encode(int, int)}
+     * @throws IllegalArgumentException if the record is corrupt
+     */
+    public static int[] decode(byte[] record) {
+        ByteBuffer in = ByteBuffer.wrap(record);
+        int[] moves = new int[record.length];
+        int count = 0;
+        while (in.hasRemaining()) {
+            moves[count++] = read(in);
+        }
+        return Arrays.copyOf(moves, count);
+    }
+
+    private static boolean isStep(int move) {
+        int from = Move.from(move);
+        return BoardGeometry.neighbour(from, direction(from, Move.to(move))) == Move.to(move);
+    }
+
+    /**
+     * Gets the direction of a step or jump, in {@link BoardGeometry}'s order: up, down, left, right.
+     */
+    private static int direction(int from, int to) {
+        int rows = Position.row(to) - Position.row(from);
+        if (rows != 0) {
+            return rows < 0 ? 0 : 1;
+        }
+        return Position.column(to) < Position.column(from) ? 2 : 3;
+    }
+}
@@ -0,0 +1,170 @@
+package com.junglechess.game;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.junglechess.model.Player;
+import com.junglechess.model.PositionNotation;
+
+/**
+ * Perft (performance test) node counter for the rules engine.
+ * Counts the leaf nodes of the legal move tree to a fixed depth using
+ * {@link Game#generateMoves(int[])}, {@link Game#makeMove(int)} and {@link Game#unmakeMove()}.
+ * Positions where the game is over have no children and count as zero leaves below them.
+ * Known counts make a regression check for any change to move generation,
+ * and the nodes per second measure its raw speed.
+ * <p>
+ * Usage: {@code Perft <depth> [threads] ["<position>"]}, where the position is
+ * written in {@link PositionNotation} and defaults to the starting position.
+ */
+public class Perft {
+    private final Game game;
+    private final int[][] moves;
+
+    /**
+     * Constructor to count from a copy of a game's current position.
+     * @param game the game whose position is the root
+     * @param maxDepth the deepest count that will be requested
+     */
+    public Perft(Game game, int maxDepth) {
+        this.game = new Game(game.getPlayer1(), game.getPlayer2(), game.getPosition());
+        this.moves = new int[Math.max(1, maxDepth)][Move.MAX_MOVES];
+    }
+
+    /**
+     * Counts the leaf nodes to a depth.
+     * @param game the game whose position is the root; it is not modified
+     * @param depth the depth in plies
+     * @return the number of leaf nodes
+     */
+    public static long perft(Game game, int depth) {
+        return new Perft(game, depth).count(depth);
+    }
+
+    /**
+     * Counts the leaf nodes below every root move.
+     * @param game the game whose position is the root; it is not modified
+     * @param depth the depth in plies, at least 1
+     * @param rootMoves buffer receiving the root moves, with room for {@link Move#MAX_MOVES}
+     * @return the leaf count below each root move, in the order of rootMoves
+     * @throws IllegalArgumentException if depth is less than 1
+     */
+    public static long[] divide(Game game, int depth, int[] rootMoves) {
+        checkDivideDepth(depth);
+        Perft perft = new Perft(game, depth);
+        int count = perft.game.generateMoves(rootMoves);
+        long[] counts = new long[count];
+        for (int i = 0; i < count; i++) {
+            counts[i] = perft.countBelow(rootMoves[i], depth);
+        }
+        return counts;
+    }
+
+    /**
+     * Counts the leaf nodes below every root move, splitting the root moves over several threads.
+     * @param game the game whose position is the root; it is not modified
+     * @param depth the depth in plies, at least 1
+     * @param rootMoves buffer receiving the root moves, with room for {@link Move#MAX_MOVES}
+     * @param threads the number of worker threads
+     * @return the leaf count below each root move, in the order of rootMoves
+     * @throws IllegalArgumentException if depth is less than 1
+     */
+    public static long[] divide(Game game, int depth, int[] rootMoves, int threads) {
+        checkDivideDepth(depth);
+        int count = game.generateMoves(rootMoves);
+        long[] counts = new long[count];
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, threads));
+        try {
+            List<Future<Long>> results = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int move = rootMoves[i];
+                // Every task works on its own copy of the root
+                results.add(pool.submit(() -> new Perft(game, depth).countBelow(move, depth)));
+            }
+            for (int i = 0; i < count; i++) {
+                counts[i] = results.get(i).get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Perft interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Perft worker failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        return counts;
+    }
+
+    /**
+     * Counts the leaf nodes to a depth from this counter's root.
+     * @param depth the depth in plies, at most the maximum depth given to the constructor
+     * @return the number of leaf nodes
+     */
+    public long count(int depth) {
+        return count(depth, 0);
+    }
+
+    private static void checkDivideDepth(int depth) {
+        // Dividing counts below the root moves, so there must be at least one ply
+        if (depth < 1) {
+            throw new IllegalArgumentException("Perft divide depth must be at least 1, got " + depth);
+        }
+    }
+
+    private long countBelow(int move, int depth) {
+        game.makeMove(move);
+        long nodes = count(depth - 1, 1);
+        game.unmakeMove();
+        return nodes;
+    }
+
+    private long count(int depth, int ply) {
+        if (depth == 0) {
+            return 1;
+        }
+        int[] list = moves[ply];
+        int count = game.generateMoves(list);
+        if (depth == 1) {
+            return count;
+        }
+        long nodes = 0;
+        for (int i = 0; i < count; i++) {
+            game.makeMove(list[i]);
+            nodes += count(depth - 1, ply + 1);
+            game.unmakeMove();
+        }
+        return nodes;
+    }
+
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+        if (depth < 1) {
+            System.out.println("Usage: Perft <depth> [threads] [\"<position>\"], with a depth of at least 1");
+            return;
+        }
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        String notation = args.length > 2 ? args[2] : PositionNotation.INITIAL;
+        Game game = new Game(new Player("Red"), new Player("Blue"), notation);
+
+        System.out.println("=== PERFT depth " + depth + " (" + threads + " thread" + (threads == 1 ? "" : "s") + ") ===");
+        System.out.println("Position: " + PositionNotation.format(game.getPosition()));
+        int[] rootMoves = new int[Move.MAX_MOVES];
+        long start = System.nanoTime();
+        long[] counts = threads > 1 ? divide(game, depth, rootMoves, threads) : divide(game, depth, rootMoves);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long total = Arrays.stream(counts).sum();
+        for (int i = 0; i < counts.length; i++) {
+            System.out.println(Move.toString(rootMoves[i]) + ": " + counts[i]);
+        }
+        System.out.println();
+        System.out.println("Nodes: " + total);
+        System.out.println(String.format("Time: %.3f s", seconds));
+        System.out.println(String.format("Nodes/second: %.0f", total / Math.max(seconds, 1e-9)));
+    }
+}
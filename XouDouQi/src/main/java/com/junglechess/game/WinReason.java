@@ -0,0 +1,39 @@
+package com.junglechess.game;
+
+/**
+ * Enum representing the ways a game of Jungle Chess can be won.
+ */
+public enum WinReason {
+    /**
+     * A piece entered the opponent's sanctuary
+     */
+    SANCTUARY("entered the enemy sanctuary"),
+
+    /**
+     * The opponent has no pieces left on the board
+     */
+    NO_PIECES("captured every enemy piece"),
+
+    /**
+     * The opponent has pieces left but none of them can move
+     */
+    NO_MOVES("left the opponent without a legal move");
+
+    private final String description;
+
+    /**
+     * Constructor to initialize the win reason description
+     * @param description a short phrase describing how the winner won
+     */
+    WinReason(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Get the description of the win reason
+     * @return a short phrase such as "entered the enemy sanctuary"
+     */
+    public String getDescription() {
+        return description;
+    }
+}
@@ -3,11 +3,14 @@ package com.junglechess.model;
 /**
  * Class representing the Jungle Chess game board.
  * The board is a 9x7 grid with special zones and pieces placed according to Jungle Chess rules.
+ * Every board keeps a bitboard {@link Position} in sync with its squares,
+ * so the game engine can validate moves without walking the grid.
  */
-public class Board {
+public final class Board {
     private Square[][] grid = new Square[9][7];
     private Player playerRed;
     private Player playerBlue;
+    private final Position position;
     
     /**
      * Constructor to initialize the board with all squares and pieces.
@@ -27,6 +30,49 @@ public class Board {
         
         // Set up the board with special zones and pieces
         setupBoard();
+        
+        // Mirror the initial layout into the bitboard position
+        this.position = new Position();
+        attachSquares();
+    }
+    
+    /**
+     * Constructor to build a board from an existing bitboard position.
+     * The board adopts the given position: pieces moved on the board's squares
+     * are written through to it.
+     * @param player1 the first player (Red pieces)
+     * @param player2 the second player (Blue pieces)
+     * @param position the position to display and keep in sync
+     */
+    public Board(Player player1, Player player2, Position position) {
+        this.playerRed = player1;
+        this.playerBlue = player2;
+        this.position = position;
+        
+        for (int row = 0; row < 9; row++) {
+            for (int col = 0; col < 7; col++) {
+                int index = Position.index(row, col);
+                int code = position.pieceAt(index);
+                Piece piece = null;
+                if (code != Position.EMPTY) {
+                    Player owner = Position.sideOf(code) == Position.RED ? playerRed : playerBlue;
+                    piece = new Piece(Position.rankOf(code), owner);
+                }
+                grid[row][col] = new Square(Position.terrainAt(index), piece);
+                grid[row][col].attach(this, index);
+            }
+        }
+    }
+    
+    /**
+     * Constructor to build a board from a position written in {@link PositionNotation}.
+     * @param player1 the first player (Red pieces)
+     * @param player2 the second player (Blue pieces)
+     * @param notation the position, e.g. {@link PositionNotation#INITIAL}
+     * @throws IllegalArgumentException if the notation is malformed
+     */
+    public Board(Player player1, Player player2, String notation) {
+        this(player1, player2, PositionNotation.parse(notation));
     }
     
     /**
@@ -104,6 +150,58 @@ public class Board {
         grid[6][6] = new Square(SquareType.NORMAL, new Piece(Rank.RAT, playerRed));
     }
     
+    /**
+     * Links every square to this board and rebuilds the position from the grid.
+     */
+    private void attachSquares() {
+        position.clear();
+        for (int row = 0; row < 9; row++) {
+            for (int col = 0; col < 7; col++) {
+                int index = Position.index(row, col);
+                grid[row][col].attach(this, index);
+                onPieceChanged(index, grid[row][col].getPiece());
+            }
+        }
+    }
+    
+    /**
+     * Mirrors a piece change on one of this board's squares into the position.
+     * @param index the square index
+     * @param piece the new piece on the square, or null if it was cleared
+     */
+    void onPieceChanged(int index, Piece piece) {
+        position.remove(index);
+        if (piece != null) {
+            position.place(index, sideOf(piece.getOwner()), piece.getRank());
+        }
+    }
+    
+    /**
+     * Gets the side index used by the position for a player.
+     * @param player the player
+     * @return Position.RED for the first player, Position.BLUE otherwise
+     */
+    public int sideOf(Player player) {
+        return player != null && player.equals(playerRed) ? Position.RED : Position.BLUE;
+    }
+    
+    /**
+     * Takes an immutable snapshot of the pieces on this board.
+     * Later moves do not change the snapshot, so it can be read from any thread.
+     * @return the snapshot of the board's position
+     */
+    public PositionSnapshot snapshot() {
+        return position.snapshot();
+    }
+    
+    /**
+     * Get the bitboard position mirroring this board.
+     * @return the position kept in sync with the squares
+     */
+    public Position getPosition() {
+        return position;
+    }
+    
     /**
      * Get the number of rows on the board.
      * @return the number of rows
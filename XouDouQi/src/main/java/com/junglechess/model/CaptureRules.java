@@ -0,0 +1,84 @@
+package com.junglechess.model;
+
+/**
+ * Capture legality precomputed into a table indexed by terrain, attacker rank and target rank.
+ * A piece captures pieces of equal or lower rank, except that the Rat captures the
+ * Elephant and the Elephant cannot capture the Rat.
+ * Ranks are indexed by {@link Rank#ordinal()}; the terrain modifier describes where the
+ * two pieces stand, so every capture decision is a single array read.
+ * Ownership is not part of the table: callers must already know the target is an enemy piece.
+ */
+public final class CaptureRules {
+    /** Both pieces stand on ordinary terrain: rank order applies, with the Rat/Elephant exception. */
+    public static final int OPEN = 0;
+
+    /** The target stands in one of the attacker's traps and can be captured by any piece. */
+    public static final int TARGET_TRAPPED = 1;
+
+    /** The attacker is in the water and the target on land: a Rat cannot capture the Elephant. */
+    public static final int FROM_WATER = 2;
+
+    private static final int TERRAIN_COUNT = 3;
+    private static final int RANK_COUNT = 8;
+    private static final boolean[] TABLE = new boolean[TERRAIN_COUNT * RANK_COUNT * RANK_COUNT];
+
+    static {
+        Rank[] ranks = Rank.values();
+        for (Rank attacker : ranks) {
+            for (Rank target : ranks) {
+                boolean byRank = attacker.getLevel() >= target.getLevel()
+                    && !(attacker == Rank.ELEPHANT && target == Rank.RAT);
+                boolean ratOnElephant = attacker == Rank.RAT && target == Rank.ELEPHANT;
+                TABLE[slot(OPEN, attacker.ordinal(), target.ordinal())] = byRank || ratOnElephant;
+                TABLE[slot(TARGET_TRAPPED, attacker.ordinal(), target.ordinal())] = true;
+                TABLE[slot(FROM_WATER, attacker.ordinal(), target.ordinal())] = byRank;
+            }
+        }
+    }
+
+    private CaptureRules() {
+    }
+
+    private static int slot(int terrain, int attacker, int target) {
+        return (terrain * RANK_COUNT + attacker) * RANK_COUNT + target;
+    }
+
+    /**
+     * Checks if an attacker may capture an enemy target.
+     * @param attacker the rank index of the moving piece
+     * @param target the rank index of the piece being captured
+     * @param terrain OPEN, TARGET_TRAPPED or FROM_WATER
+     * @return true if the capture is allowed
+     */
+    public static boolean canCapture(int attacker, int target, int terrain) {
+        return TABLE[slot(terrain, attacker, target)];
+    }
+
+    /**
+     * Gets the terrain modifier for a capture between two squares of a position.
+     * @param attackerSide the side of the moving piece
+     * @param from the square index the attacker moves from
+     * @param to the square index of the target
+     * @return OPEN, TARGET_TRAPPED or FROM_WATER
+     */
+    public static int terrain(int attackerSide, int from, int to) {
+        long ownTraps = attackerSide == Position.RED ? Position.RED_TRAP_MASK : Position.BLUE_TRAP_MASK;
+        return terrain((ownTraps & Position.bit(to)) != 0,
+                       (Position.RIVER_MASK & Position.bit(from)) != 0,
+                       (Position.RIVER_MASK & Position.bit(to)) != 0);
+    }
+
+    /**
+     * Gets the terrain modifier for a capture from the facts about both squares.
+     * @param targetTrapped true if the target stands in one of the attacker's traps
+     * @param fromWater true if the attacker stands in the water
+     * @param toWater true if the target stands in the water
+     * @return OPEN, TARGET_TRAPPED or FROM_WATER
+     */
+    public static int terrain(boolean targetTrapped, boolean fromWater, boolean toWater) {
+        if (targetTrapped) {
+            return TARGET_TRAPPED;
+        }
+        return fromWater && !toWater ? FROM_WATER : OPEN;
+    }
+}
@@ -38,7 +38,10 @@ public class Piece {
     /**
      * Set the trapped state of this piece.
      * @param trapped true if the piece is in an enemy trap, false otherwise
+     * @deprecated trap status comes from the terrain of the square a piece stands on;
+     *             use {@link #canCapture(Piece, Square, Square)}
      */
+    @Deprecated
     public void setTrapped(boolean trapped) {
         this.trapped = trapped;
     }
@@ -46,43 +49,49 @@ public class Piece {
     /**
      * Check if this piece is currently trapped.
      * @return true if the piece is in an enemy trap, false otherwise
+     * @deprecated the flag is never set by the game; trap status comes from square terrain
      */
+    @Deprecated
     public boolean isTrapped() {
         return trapped;
     }
 
     /**
-     * Determines if this piece can capture a target piece.
+     * Determines if this piece can capture a target piece, ignoring terrain.
      * Rules:
      * - A piece cannot capture a piece owned by the same player
      * - Generally, a piece can capture another if its rank is >= the target's rank
-     * - Exception: Rat can capture Elephant
-     * - Any piece can capture a trapped enemy piece
+     * - Exception: Rat can capture Elephant, and Elephant cannot capture Rat
+     * - Any piece can capture a piece flagged as trapped
      * @param target the piece to be captured
      * @return true if capture is possible, false otherwise
      */
     public boolean canCapture(Piece target) {
-        // Cannot capture if target is null (empty square)
-        if (target == null) {
+        // Cannot capture an empty square or own pieces
+        if (target == null || this.owner == target.getOwner()) {
             return false;
         }
-        
-        // Cannot capture own pieces
-        if (this.owner == target.getOwner()) {
+        int terrain = target.trapped ? CaptureRules.TARGET_TRAPPED : CaptureRules.OPEN;
+        return CaptureRules.canCapture(rank.ordinal(), target.getRank().ordinal(), terrain);
+    }
+
+    /**
+     * Determines if this piece can capture a target piece on the board.
+     * Trap weakening and the river rule come from the terrain of both squares:
+     * any piece captures a target standing in one of its owner's traps, and a Rat
+     * in the water cannot capture an Elephant on land.
+     * @param target the piece to be captured
+     * @param from the square this piece moves from
+     * @param to the square the target stands on
+     * @return true if capture is possible, false otherwise
+     */
+    public boolean canCapture(Piece target, Square from, Square to) {
+        if (target == null || this.owner == target.getOwner()) {
             return false;
         }
-        
-        // Any piece can capture a trapped enemy piece
-        if (target.isTrapped()) {
-            return true;
-        }
-        
-        // Special case: RAT can capture ELEPHANT
-        if (this.rank == Rank.RAT && target.getRank() == Rank.ELEPHANT) {
-            return true;
-        }
-        
-        // General rule: Can capture if rank is >= target's rank
-        return this.rank.getLevel() >= target.getRank().getLevel();
+        int terrain = CaptureRules.terrain(to.isTrapOf(owner),
+                                           from.getType() == SquareType.RIVIERE,
+                                           to.getType() == SquareType.RIVIERE);
+        return CaptureRules.canCapture(rank.ordinal(), target.getRank().ordinal(), terrain);
     }
 }
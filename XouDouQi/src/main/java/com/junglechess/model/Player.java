@@ -4,6 +4,9 @@ package com.junglechess.model;
  * Class representing a player in the Jungle Chess game.
  */
 public class Player {
+    /** Name of the computer opponent; no account can be created or logged in with it. */
+    public static final String COMPUTER_NAME = "Computer";
+
     private String name;
 
     /**
@@ -22,6 +25,16 @@ public class Player {
         return name;
     }
 
+    /**
+     * Checks whether a name is kept for the computer opponent.
+     * Players are told apart by name, so a human with the same name would be mistaken for it.
+     * @param name the name to check
+     * @return true if the name matches {@link #COMPUTER_NAME}, ignoring case
+     */
+    public static boolean isReservedName(String name) {
+        return COMPUTER_NAME.equalsIgnoreCase(name);
+    }
+
     /**
      * Override equals to compare players by name.
      * @param obj the object to compare
@@ -0,0 +1,388 @@
+package com.junglechess.model;
+
+import java.util.Arrays;
+
+/**
+ * Bitboard representation of a Jungle Chess position.
+ * The 9x7 board has 63 squares, so every set of squares fits in a single {@code long}:
+ * bit {@code row * 7 + col} stands for the square at (row, col).
+ * A position keeps one occupancy mask per player, one mask per {@link Rank}
+ * and a 63-byte mailbox so the piece on a given square can be read without scanning masks.
+ * Terrain never changes during a game and is exposed as constant masks.
+ * A {@link Zobrist} hash of the pieces and side to move is updated on every change.
+ */
+public class Position {
+    public static final int ROWS = 9;
+    public static final int COLUMNS = 7;
+    public static final int SQUARE_COUNT = ROWS * COLUMNS;
+
+    /** Side index of the Red player (player 1, starting at the bottom rows). */
+    public static final int RED = 0;
+    /** Side index of the Blue player (player 2, starting at the top rows). */
+    public static final int BLUE = 1;
+
+    /** Mailbox value of an empty square. */
+    public static final int EMPTY = 0;
+
+    public static final long ALL_SQUARES = (1L << SQUARE_COUNT) - 1;
+    public static final long RIVER_MASK;
+    public static final long RED_TRAP_MASK = bit(8, 2) | bit(8, 4) | bit(7, 3);
+    public static final long BLUE_TRAP_MASK = bit(0, 2) | bit(0, 4) | bit(1, 3);
+    public static final long TRAP_MASK = RED_TRAP_MASK | BLUE_TRAP_MASK;
+    public static final long RED_DEN_MASK = bit(8, 3);
+    public static final long BLUE_DEN_MASK = bit(0, 3);
+
+    private static final Rank[] RANKS = Rank.values();
+
+    static {
+        long river = 0L;
+        for (int row = 3; row < 6; row++) {
+            for (int col = 1; col < 6; col++) {
+                // No river on column 3
+                if (col != 3) {
+                    river |= bit(row, col);
+                }
+            }
+        }
+        RIVER_MASK = river;
+    }
+
+    private final long[] sides = new long[2];
+    private final long[] ranks = new long[RANKS.length];
+    private byte[] cells = new byte[SQUARE_COUNT];
+    private boolean cellsShared;        // cells is referenced by a snapshot and is copied before the next write
+    private PositionSnapshot snapshot;  // Last snapshot taken, reused while nothing has changed
+    private int sideToMove = RED;
+    private long key;
+
+    /**
+     * Creates an empty position with Red to move.
+     */
+    public Position() {
+    }
+
+    /**
+     * Creates a position holding the standard starting layout.
+     * @return a new position with all 16 pieces on their initial squares and Red to move
+     */
+    public static Position initial() {
+        Position position = new Position();
+        position.place(index(0, 0), BLUE, Rank.LION);
+        position.place(index(0, 6), BLUE, Rank.TIGRE);
+        position.place(index(1, 1), BLUE, Rank.CHIEN);
+        position.place(index(1, 5), BLUE, Rank.CHAT);
+        position.place(index(2, 0), BLUE, Rank.RAT);
+        position.place(index(2, 2), BLUE, Rank.PANTHERE);
+        position.place(index(2, 4), BLUE, Rank.LOUP);
+        position.place(index(2, 6), BLUE, Rank.ELEPHANT);
+
+        position.place(index(8, 0), RED, Rank.TIGRE);
+        position.place(index(8, 6), RED, Rank.LION);
+        position.place(index(7, 1), RED, Rank.CHAT);
+        position.place(index(7, 5), RED, Rank.CHIEN);
+        position.place(index(6, 0), RED, Rank.ELEPHANT);
+        position.place(index(6, 2), RED, Rank.LOUP);
+        position.place(index(6, 4), RED, Rank.PANTHERE);
+        position.place(index(6, 6), RED, Rank.RAT);
+        return position;
+    }
+
+    /**
+     * Converts board coordinates to a square index.
+     * @param row the row index (0-8)
+     * @param col the column index (0-6)
+     * @return the square index (0-62)
+     */
+    public static int index(int row, int col) {
+        return row * COLUMNS + col;
+    }
+
+    /**
+     * Gets the row of a square index.
+     * @param square the square index
+     * @return the row index (0-8)
+     */
+    public static int row(int square) {
+        return square / COLUMNS;
+    }
+
+    /**
+     * Gets the column of a square index.
+     * @param square the square index
+     * @return the column index (0-6)
+     */
+    public static int column(int square) {
+        return square % COLUMNS;
+    }
+
+    /**
+     * Checks whether coordinates are on the board.
+     * @param row the row index
+     * @param col the column index
+     * @return true if (row, col) is one of the 63 squares
+     */
+    public static boolean isOnBoard(int row, int col) {
+        return row >= 0 && row < ROWS && col >= 0 && col < COLUMNS;
+    }
+
+    /**
+     * Gets the single-bit mask of a square index.
+     * @param square the square index
+     * @return a mask with only that square set
+     */
+    public static long bit(int square) {
+        return 1L << square;
+    }
+
+    private static long bit(int row, int col) {
+        return 1L << index(row, col);
+    }
+
+    /**
+     * Gets the terrain of a square from the constant terrain masks.
+     * @param square the square index
+     * @return the square type
+     */
+    public static SquareType terrainAt(int square) {
+        long mask = bit(square);
+        if ((RIVER_MASK & mask) != 0) {
+            return SquareType.RIVIERE;
+        }
+        if ((TRAP_MASK & mask) != 0) {
+            return SquareType.PIEGE;
+        }
+        if ((RED_DEN_MASK & mask) != 0) {
+            return SquareType.SANCTUAIRE_RED;
+        }
+        if ((BLUE_DEN_MASK & mask) != 0) {
+            return SquareType.SANCTUAIRE_BLUE;
+        }
+        return SquareType.NORMAL;
+    }
+
+    /**
+     * Encodes a side and rank into a mailbox value.
+     * @param side RED or BLUE
+     * @param rank the rank of the piece
+     * @return a non-zero piece code
+     */
+    public static int pieceCode(int side, Rank rank) {
+        return 1 + (side << 3) + rank.ordinal();
+    }
+
+    /**
+     * Gets the side encoded in a non-empty piece code.
+     * @param code the piece code
+     * @return RED or BLUE
+     */
+    public static int sideOf(int code) {
+        return (code - 1) >> 3;
+    }
+
+    /**
+     * Gets the rank index ({@link Rank#ordinal()}) encoded in a non-empty piece code.
+     * @param code the piece code
+     * @return the rank index, 0 for ELEPHANT up to 7 for RAT
+     */
+    public static int rankIndexOf(int code) {
+        return (code - 1) & 7;
+    }
+
+    /**
+     * Gets the rank encoded in a non-empty piece code.
+     * @param code the piece code
+     * @return the rank
+     */
+    public static Rank rankOf(int code) {
+        return RANKS[rankIndexOf(code)];
+    }
+
+    /**
+     * Places a piece on an empty square.
+     * @param square the square index
+     * @param side RED or BLUE
+     * @param rank the rank of the piece
+     */
+    public void place(int square, int side, Rank rank) {
+        placeCode(square, pieceCode(side, rank));
+    }
+
+    /**
+     * Places an encoded piece on an empty square.
+     * @param square the square index
+     * @param code a non-empty piece code
+     */
+    public void placeCode(int square, int code) {
+        long mask = bit(square);
+        sides[sideOf(code)] |= mask;
+        ranks[rankIndexOf(code)] |= mask;
+        if (cellsShared) {
+            unshareCells();
+        }
+        cells[square] = (byte) code;
+        key ^= Zobrist.piece(code, square);
+    }
+
+    /**
+     * Removes whatever piece stands on a square.
+     * @param square the square index
+     * @return the piece code that was removed, or EMPTY
+     */
+    public int remove(int square) {
+        int code = cells[square];
+        if (code != EMPTY) {
+            long mask = ~bit(square);
+            sides[sideOf(code)] &= mask;
+            ranks[rankIndexOf(code)] &= mask;
+            if (cellsShared) {
+                unshareCells();
+            }
+            cells[square] = EMPTY;
+            key ^= Zobrist.piece(code, square);
+        }
+        return code;
+    }
+
+    /**
+     * Moves the piece on {@code from} to {@code to}, removing any piece already on {@code to}.
+     * @param from the source square index
+     * @param to the destination square index
+     * @return the piece code that was captured, or EMPTY
+     */
+    public int move(int from, int to) {
+        int captured = remove(to);
+        int code = remove(from);
+        if (code != EMPTY) {
+            placeCode(to, code);
+        }
+        return captured;
+    }
+
+    /**
+     * Gets the piece code on a square.
+     * @param square the square index
+     * @return the piece code, or EMPTY
+     */
+    public int pieceAt(int square) {
+        return cells[square];
+    }
+
+    /**
+     * Gets the occupancy mask of one player.
+     * @param side RED or BLUE
+     * @return the squares holding that player's pieces
+     */
+    public long occupancy(int side) {
+        return sides[side];
+    }
+
+    /**
+     * Gets the occupancy mask of both players.
+     * @return all occupied squares
+     */
+    public long occupied() {
+        return sides[RED] | sides[BLUE];
+    }
+
+    /**
+     * Gets the mask of all pieces of a rank, regardless of owner.
+     * @param rank the rank
+     * @return the squares holding pieces of that rank
+     */
+    public long rankMask(Rank rank) {
+        return ranks[rank.ordinal()];
+    }
+
+    /**
+     * Gets the side to move.
+     * @return RED or BLUE
+     */
+    public int getSideToMove() {
+        return sideToMove;
+    }
+
+    /**
+     * Sets the side to move.
+     * @param side RED or BLUE
+     */
+    public void setSideToMove(int side) {
+        if (side != sideToMove) {
+            switchSide();
+        }
+    }
+
+    /**
+     * Passes the turn to the other side.
+     */
+    public void switchSide() {
+        sideToMove ^= 1;
+        key ^= Zobrist.side();
+    }
+
+    /**
+     * Gets the Zobrist hash of the pieces and side to move.
+     * @return the 64-bit position key
+     */
+    public long getKey() {
+        return key;
+    }
+
+    /**
+     * Removes every piece and gives the move to Red.
+     */
+    public void clear() {
+        sides[RED] = 0L;
+        sides[BLUE] = 0L;
+        Arrays.fill(ranks, 0L);
+        if (cellsShared) {
+            unshareCells();
+        }
+        Arrays.fill(cells, (byte) EMPTY);
+        sideToMove = RED;
+        key = 0L;
+    }
+
+    /**
+     * Overwrites this position with the contents of another one.
+     * @param other the position to copy
+     */
+    public void copyFrom(Position other) {
+        System.arraycopy(other.sides, 0, sides, 0, sides.length);
+        System.arraycopy(other.ranks, 0, ranks, 0, ranks.length);
+        if (cellsShared) {
+            unshareCells();
+        }
+        System.arraycopy(other.cells, 0, cells, 0, cells.length);
+        sideToMove = other.sideToMove;
+        key = other.key;
+    }
+
+    /**
+     * Creates an independent copy of this position.
+     * @return a new position with the same pieces and side to move
+     */
+    public Position copy() {
+        Position copy = new Position();
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    /**
+     * Takes an immutable snapshot of this position in O(1).
+     * The snapshot shares the piece array; this position copies it before its next change.
+     * Taking another snapshot before anything changes returns the same instance.
+     * @return a snapshot of the pieces, side to move and key
+     */
+    public PositionSnapshot snapshot() {
+        if (snapshot == null || snapshot.cells != cells || snapshot.getSideToMove() != sideToMove) {
+            snapshot = new PositionSnapshot(cells, sideToMove, key);
+            cellsShared = true;
+        }
+        return snapshot;
+    }
+
+    private void unshareCells() {
+        cells = cells.clone();
+        cellsShared = false;
+    }
+}
@@ -0,0 +1,148 @@
+package com.junglechess.model;
+
+/**
+ * One-line text notation for positions, in the style of chess FEN.
+ * The nine rows are listed from row 0 (Blue's den row) to row 8 (Red's den row),
+ * separated by '/'. Within a row, pieces are written by rank letter and digits 1-7
+ * count empty squares. Letters are E (Elephant), L (Lion), T (Tiger), P (Panther),
+ * D (Dog), W (Wolf), C (Cat) and R (Rat); upper case is Red and lower case is Blue.
+ * A space and 'r' or 'b' give the side to move. The starting position is
+ * {@value #INITIAL}.
+ * <p>
+ * Parsing and formatting walk the characters directly, without splitting into
+ * intermediate strings or using regular expressions, and a position can be reused
+ * across parses so large files of test positions load quickly.
+ */
+public final class PositionNotation {
+    /** Notation of the standard starting position. */
+    public static final String INITIAL = "l5t/1d3c1/r1p1w1e/7/7/7/E1W1P1R/1C3D1/T5L r";
+
+    // Letters indexed by rank ordinal: ELEPHANT, LION, TIGRE, PANTHERE, CHIEN, LOUP, CHAT, RAT
+    private static final char[] LETTERS = {'E', 'L', 'T', 'P', 'D', 'W', 'C', 'R'};
+
+    // Piece code for each ASCII character, EMPTY for characters that are not pieces
+    private static final byte[] CODES = new byte[128];
+
+    static {
+        Rank[] ranks = Rank.values();
+        for (int i = 0; i < LETTERS.length; i++) {
+            CODES[LETTERS[i]] = (byte) Position.pieceCode(Position.RED, ranks[i]);
+            CODES[Character.toLowerCase(LETTERS[i])] = (byte) Position.pieceCode(Position.BLUE, ranks[i]);
+        }
+    }
+
+    private PositionNotation() {
+    }
+
+    /**
+     * Parses a position.
+     * @param text the notation
+     * @return a new position
+     * @throws IllegalArgumentException if the notation is malformed
+     */
+    public static Position parse(CharSequence text) {
+        Position position = new Position();
+        parseInto(text, position);
+        return position;
+    }
+
+    /**
+     * Parses a position into an existing one, replacing its contents.
+     * @param text the notation
+     * @param position the position to overwrite
+     * @throws IllegalArgumentException if the notation is malformed; the position's contents are then unspecified
+     */
+    public static void parseInto(CharSequence text, Position position) {
+        position.clear();
+        int length = text.length();
+        int i = 0;
+        int row = 0;
+        int col = 0;
+        while (i < length) {
+            char c = text.charAt(i++);
+            if (c == '/') {
+                if (col != Position.COLUMNS || row == Position.ROWS - 1) {
+                    throw malformed(text, i - 1, "row " + row + " has " + col + " columns");
+                }
+                row++;
+                col = 0;
+            } else if (c >= '1' && c <= '7') {
+                col += c - '0';
+                if (col > Position.COLUMNS) {
+                    throw malformed(text, i - 1, "row " + row + " is too long");
+                }
+            } else if (c < CODES.length && CODES[c] != Position.EMPTY) {
+                if (col >= Position.COLUMNS) {
+                    throw malformed(text, i - 1, "row " + row + " is too long");
+                }
+                position.placeCode(Position.index(row, col++), CODES[c]);
+            } else if (c == ' ') {
+                break;
+            } else {
+                throw malformed(text, i - 1, "unexpected character '" + c + "'");
+            }
+        }
+        if (row != Position.ROWS - 1 || col != Position.COLUMNS) {
+            throw malformed(text, i, "expected 9 rows of 7 columns");
+        }
+
+        // Side to move, Red if omitted
+        if (i < length) {
+            char side = text.charAt(i++);
+            if (side == 'b' || side == 'B') {
+                position.setSideToMove(Position.BLUE);
+            } else if (side != 'r' && side != 'R') {
+                throw malformed(text, i - 1, "side to move must be 'r' or 'b'");
+            }
+            if (i < length) {
+                throw malformed(text, i, "unexpected trailing text");
+            }
+        }
+    }
+
+    private static IllegalArgumentException malformed(CharSequence text, int index, String reason) {
+        return new IllegalArgumentException("Bad position at character " + index + " (" + reason + "): " + text);
+    }
+
+    /**
+     * Formats a position.
+     * @param position the position to write
+     * @return the notation
+     */
+    public static String format(Position position) {
+        StringBuilder builder = new StringBuilder(48);
+        appendTo(builder, position);
+        return builder.toString();
+    }
+
+    /**
+     * Appends the notation of a position to a builder.
+     * @param builder the builder to append to
+     * @param position the position to write
+     */
+    public static void appendTo(StringBuilder builder, Position position) {
+        for (int row = 0; row < Position.ROWS; row++) {
+            if (row > 0) {
+                builder.append('/');
+            }
+            int empty = 0;
+            for (int col = 0; col < Position.COLUMNS; col++) {
+                int code = position.pieceAt(Position.index(row, col));
+                if (code == Position.EMPTY) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    builder.append((char) ('0' + empty));
+                    empty = 0;
+                }
+                char letter = LETTERS[Position.rankIndexOf(code)];
+                builder.append(Position.sideOf(code) == Position.RED ? letter : Character.toLowerCase(letter));
+            }
+            if (empty > 0) {
+                builder.append((char) ('0' + empty));
+            }
+        }
+        builder.append(' ').append(position.getSideToMove() == Position.RED ? 'r' : 'b');
+    }
+}
@@ -0,0 +1,117 @@
+package com.junglechess.model;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Immutable view of a {@link Position}: the 63 piece codes packed in a byte array,
+ * the side to move and the Zobrist key.
+ * Snapshots are taken with {@link Position#snapshot()} in O(1): the snapshot shares
+ * the position's piece array, and the position copies the array before its next change
+ * (copy-on-write). Snapshots can therefore be handed to other threads and read without
+ * locks while the game keeps playing.
+ * Equal snapshots can be collapsed to one shared instance with {@link #intern()}.
+ */
+public final class PositionSnapshot {
+    // Weakly held so interned snapshots disappear once nothing else refers to them
+    private static final Map<PositionSnapshot, WeakReference<PositionSnapshot>> INTERNED = new WeakHashMap<>();
+
+    final byte[] cells;
+    private final int sideToMove;
+    private final long key;
+
+    /**
+     * Constructor used by {@link Position}; the array must never be written afterwards.
+     * @param cells the piece code of every square
+     * @param sideToMove RED or BLUE
+     * @param key the Zobrist key of the position
+     */
+    PositionSnapshot(byte[] cells, int sideToMove, long key) {
+        this.cells = cells;
+        this.sideToMove = sideToMove;
+        this.key = key;
+    }
+
+    /**
+     * Gets the piece code on a square.
+     * @param square the square index
+     * @return the piece code, or Position.EMPTY
+     */
+    public int pieceAt(int square) {
+        return cells[square];
+    }
+
+    /**
+     * Gets the side to move.
+     * @return Position.RED or Position.BLUE
+     */
+    public int getSideToMove() {
+        return sideToMove;
+    }
+
+    /**
+     * Gets the Zobrist hash of the pieces and side to move.
+     * @return the 64-bit position key
+     */
+    public long getKey() {
+        return key;
+    }
+
+    /**
+     * Copies the packed piece codes, e.g. for persistence.
+     * @return a new array with the piece code of every square
+     */
+    public byte[] toBytes() {
+        return cells.clone();
+    }
+
+    /**
+     * Rebuilds a mutable position from this snapshot.
+     * @return a new position with the same pieces and side to move
+     */
+    public Position toPosition() {
+        Position position = new Position();
+        for (int square = 0; square < Position.SQUARE_COUNT; square++) {
+            if (cells[square] != Position.EMPTY) {
+                position.placeCode(square, cells[square]);
+            }
+        }
+        position.setSideToMove(sideToMove);
+        return position;
+    }
+
+    /**
+     * Gets the shared instance equal to this snapshot, registering this one if there is none.
+     * @return a canonical snapshot equal to this one
+     */
+    public PositionSnapshot intern() {
+        synchronized (INTERNED) {
+            WeakReference<PositionSnapshot> reference = INTERNED.get(this);
+            PositionSnapshot shared = reference != null ? reference.get() : null;
+            if (shared == null) {
+                INTERNED.put(this, new WeakReference<>(this));
+                shared = this;
+            }
+            return shared;
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof PositionSnapshot)) {
+            return false;
+        }
+        PositionSnapshot snapshot = (PositionSnapshot) other;
+        return key == snapshot.key && sideToMove == snapshot.sideToMove && Arrays.equals(cells, snapshot.cells);
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (key ^ (key >>> 32));
+    }
+}
@@ -6,6 +6,8 @@ package com.junglechess.model;
 public class Square {
     private Piece piece;
     private SquareType type;
+    private Board board;  // Board whose bitboard position mirrors this square, if any
+    private int index;
     
     /**
      * Constructor to initialize a square with a type.
@@ -40,6 +42,34 @@ public class Square {
      */
     public void setPiece(Piece piece) {
         this.piece = piece;
+        if (board != null) {
+            board.onPieceChanged(index, piece);
+        }
+    }
+
+    /**
+     * Links this square to a board so piece changes are mirrored into its position.
+     * @param board the owning board
+     * @param index the square index (row * 7 + col)
+     */
+    void attach(Board board, int index) {
+        this.board = board;
+        this.index = index;
+    }
+    
+    /**
+     * Checks if this square is one of a player's traps; enemy pieces standing on it
+     * can be captured by any of that player's pieces.
+     * Trap ownership comes from the board the square is attached to.
+     * @param player the player to check
+     * @return true if the square is a trap of that player
+     */
+    boolean isTrapOf(Player player) {
+        if (type != SquareType.PIEGE || board == null) {
+            return false;
+        }
+        long ownTraps = board.sideOf(player) == Position.RED ? Position.RED_TRAP_MASK : Position.BLUE_TRAP_MASK;
+        return (ownTraps & Position.bit(index)) != 0;
     }
     
     /**
@@ -0,0 +1,58 @@
+package com.junglechess.model;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist keys for hashing Jungle Chess positions into 64 bits.
+ * Every (piece code, square) pair and the Blue side to move get a fixed random key;
+ * a position's hash is the XOR of the keys of everything on it.
+ * The keys come from a fixed seed so hashes are stable across runs.
+ */
+public final class Zobrist {
+    private static final long[] PIECE_KEYS = new long[17 * Position.SQUARE_COUNT];
+    private static final long SIDE_KEY;
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x4A554E474C45L);
+        for (int i = Position.SQUARE_COUNT; i < PIECE_KEYS.length; i++) {
+            // Code 0 (empty) keeps zero keys so removing nothing changes nothing
+            PIECE_KEYS[i] = random.nextLong();
+        }
+        SIDE_KEY = random.nextLong();
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * Gets the key of a piece standing on a square.
+     * @param code the piece code, as returned by {@link Position#pieceAt(int)}
+     * @param square the square index
+     * @return the key to XOR into the hash
+     */
+    public static long piece(int code, int square) {
+        return PIECE_KEYS[code * Position.SQUARE_COUNT + square];
+    }
+
+    /**
+     * Gets the key toggled when the side to move changes.
+     * @return the key XORed into the hash while Blue is to move
+     */
+    public static long side() {
+        return SIDE_KEY;
+    }
+
+    /**
+     * Computes the hash of a position from scratch.
+     * Positions maintain their hash incrementally; this is meant for verification.
+     * @param position the position to hash
+     * @return the 64-bit Zobrist hash
+     */
+    public static long hash(Position position) {
+        long hash = position.getSideToMove() == Position.BLUE ? SIDE_KEY : 0L;
+        for (int square = 0; square < Position.SQUARE_COUNT; square++) {
+            hash ^= piece(position.pieceAt(square), square);
+        }
+        return hash;
+    }
+}
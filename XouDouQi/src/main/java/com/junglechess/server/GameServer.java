@@ -0,0 +1,391 @@
+package com.junglechess.server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import com.junglechess.game.BoardGeometry;
+import com.junglechess.game.Game;
+import com.junglechess.game.Move;
+import com.junglechess.model.Player;
+import com.junglechess.model.Position;
+import com.junglechess.model.PositionNotation;
+
+/**
+ * Hosts many games over a line-based text protocol on TCP.
+ * Each connection owns one hot-seat game and plays both sides. Commands use the
+ * console grammar, one per line, and every command gets exactly one reply line:
+ * <ul>
+ * <li>{@code new} starts a new game: {@code ok <position>}</li>
+ * <li>{@code move A7 A6} plays a move: {@code ok}, or {@code ok gameover <winner> <reason>}
+ *     when the move ends the game</li>
+ * <li>{@code board} shows the game in {@link PositionNotation}: {@code board <position>}</li>
+ * <li>{@code stats} reports the server's connections, games started, moves and heap use</li>
+ * <li>{@code help} lists the commands, {@code quit} or {@code exit} answers {@code bye} and closes</li>
+ * </ul>
+ * Anything else is answered with {@code error <message>}.
+ * <p>
+ * One thread serves every connection with a {@link Selector}. Reads go through a single
+ * shared buffer, and a connection only holds buffers of its own while it has an unfinished
+ * line or unsent output, and a game once it has sent a game command. An idle connection
+ * therefore costs little more than its socket.
+ */
+public class GameServer {
+    public static final int DEFAULT_PORT = 7171;
+
+    // Lines longer than this are refused, so a client cannot grow a connection's buffer without bound
+    private static final int MAX_LINE_LENGTH = 256;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final String HELP = "commands: new | move <from> <to> | board | stats | help | quit";
+
+    // Every hosted game shares these players; only the side indices matter to the rules
+    private static final Player RED = new Player("Red");
+    private static final Player BLUE = new Player("Blue");
+
+    private final int port;
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(64 * 1024);
+    private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(64 * 1024);
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private volatile boolean running;
+
+    private int connectionCount;
+    private int gamesStarted;
+    private long moveCount;
+
+    /**
+     * State of one client connection.
+     */
+    private static final class Session {
+        final SocketChannel channel;
+        Game game;
+        // Start of a line split across reads, allocated only when that happens
+        byte[] partial;
+        int partialLength;
+        // Output the socket did not accept yet, allocated only when that happens
+        ByteBuffer pending;
+        boolean closing;
+
+        Session(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+
+    /**
+     * Constructor for a server.
+     * @param port the TCP port to listen on, or 0 to pick a free one
+     */
+    public GameServer(int port) {
+        this.port = port;
+    }
+
+    /**
+     * Opens the listening socket on the loopback interface.
+     * @return the port actually bound
+     * @throws IOException if the socket cannot be opened
+     */
+    public int bind() throws IOException {
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress("127.0.0.1", port), 1024);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Serves connections on the calling thread until {@link #stop()} is called.
+     * @throws IOException if the selector fails
+     */
+    public void serve() throws IOException {
+        running = true;
+        while (running) {
+            selector.select();
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                try {
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    if (key.isWritable()) {
+                        flushPending(key);
+                    }
+                    if (key.isValid() && key.isReadable()) {
+                        read(key);
+                    }
+                } catch (IOException e) {
+                    close(key);
+                }
+            }
+        }
+        for (SelectionKey key : selector.keys()) {
+            key.channel().close();
+        }
+        selector.close();
+    }
+
+    /**
+     * Asks the serving thread to close every connection and return.
+     */
+    public void stop() {
+        running = false;
+        if (selector != null) {
+            selector.wakeup();
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            channel.register(selector, SelectionKey.OP_READ, new Session(channel));
+            connectionCount++;
+        }
+    }
+
+    private void read(SelectionKey key) throws IOException {
+        Session session = (Session) key.attachment();
+        readBuffer.clear();
+        int read = session.channel.read(readBuffer);
+        if (read < 0) {
+            close(key);
+            return;
+        }
+        readBuffer.flip();
+        writeBuffer.clear();
+
+        int lineStart = readBuffer.position();
+        int limit = readBuffer.limit();
+        for (int i = lineStart; i < limit && !session.closing; i++) {
+            if (readBuffer.get(i) != '\n') {
+                continue;
+            }
+            String line;
+            if (session.partialLength > 0) {
+                appendPartial(session, lineStart, i);
+                line = new String(session.partial, 0, session.partialLength, StandardCharsets.US_ASCII);
+                session.partialLength = 0;
+            } else {
+                line = ascii(lineStart, i);
+            }
+            lineStart = i + 1;
+            if (line.length() > MAX_LINE_LENGTH) {
+                reply(session, "error line too long");
+                session.closing = true;
+            } else {
+                reply(session, handleLine(session, line));
+            }
+        }
+        if (!session.closing && lineStart < limit) {
+            appendPartial(session, lineStart, limit);
+            if (session.partialLength > MAX_LINE_LENGTH) {
+                reply(session, "error line too long");
+                session.closing = true;
+            }
+        }
+        if (session.partialLength == 0) {
+            session.partial = null;
+        }
+
+        writeBuffer.flip();
+        send(key, session);
+    }
+
+    private String ascii(int start, int end) {
+        byte[] bytes = new byte[end - start];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = readBuffer.get(start + i);
+        }
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    private void appendPartial(Session session, int start, int end) {
+        int needed = session.partialLength + end - start;
+        if (session.partial == null) {
+            session.partial = new byte[Math.max(64, needed)];
+        } else if (needed > session.partial.length) {
+            session.partial = Arrays.copyOf(session.partial, Math.max(session.partial.length * 2, needed));
+        }
+        for (int i = start; i < end; i++) {
+            session.partial[session.partialLength++] = readBuffer.get(i);
+        }
+    }
+
+    /**
+     * Executes one command line.
+     * @param session the connection that sent it
+     * @param input the line without its line terminator
+     * @return the reply line without its line terminator
+     */
+    private String handleLine(Session session, String input) {
+        input = input.trim();
+        if (input.isEmpty()) {
+            return "error empty command";
+        }
+        String[] tokens = WHITESPACE.split(input.toLowerCase(Locale.ROOT));
+        switch (tokens[0]) {
+            case "new":
+                session.game = new Game(RED, BLUE, Position.initial());
+                gamesStarted++;
+                return "ok " + PositionNotation.format(session.game.getPosition());
+
+            case "move":
+                return handleMove(session, tokens);
+
+            case "board":
+                return "board " + PositionNotation.format(gameOf(session).getPosition());
+
+            case "stats":
+                Runtime runtime = Runtime.getRuntime();
+                return "stats connections=" + connectionCount + " gamesStarted=" + gamesStarted + " moves=" + moveCount
+                    + " heapUsedKb=" + (runtime.totalMemory() - runtime.freeMemory()) / 1024;
+
+            case "help":
+                return HELP;
+
+            case "quit":
+            case "exit":
+                session.closing = true;
+                return "bye";
+
+            default:
+                return "error unknown command: " + tokens[0];
+        }
+    }
+
+    private String handleMove(Session session, String[] tokens) {
+        if (tokens.length != 3) {
+            return "error invalid move format, use: move <from> <to>";
+        }
+        int from = Move.parseSquare(tokens[1]);
+        int to = Move.parseSquare(tokens[2]);
+        if (from == BoardGeometry.NO_SQUARE || to == BoardGeometry.NO_SQUARE) {
+            return "error invalid coordinates, columns A-G and rows 1-9";
+        }
+        Game game = gameOf(session);
+        if (game.isGameOver()) {
+            return "error game is over, send new to start another";
+        }
+        boolean moved = game.movePiece(game.getCurrentPlayer(),
+            Position.row(from), Position.column(from), Position.row(to), Position.column(to));
+        if (!moved) {
+            return "error illegal move";
+        }
+        moveCount++;
+        if (game.isGameOver()) {
+            return "ok gameover " + game.getWinner().getName() + " " + game.getWinReason().getDescription();
+        }
+        return "ok";
+    }
+
+    private Game gameOf(Session session) {
+        if (session.game == null) {
+            session.game = new Game(RED, BLUE, Position.initial());
+            gamesStarted++;
+        }
+        return session.game;
+    }
+
+    private void reply(Session session, String line) {
+        if (writeBuffer.remaining() < line.length() + 1) {
+            // Only a client pipelining a great many commands fills the shared buffer
+            writeBuffer.flip();
+            keepPending(session);
+            writeBuffer.clear();
+        }
+        for (int i = 0; i < line.length(); i++) {
+            writeBuffer.put((byte) line.charAt(i));
+        }
+        writeBuffer.put((byte) '\n');
+    }
+
+    /**
+     * Writes the replies in the shared write buffer, keeping whatever the socket
+     * does not accept for when it becomes writable.
+     */
+    private void send(SelectionKey key, Session session) throws IOException {
+        if (session.pending == null) {
+            if (!writeBuffer.hasRemaining()) {
+                return;
+            }
+            session.channel.write(writeBuffer);
+            if (!writeBuffer.hasRemaining()) {
+                if (session.closing) {
+                    close(key);
+                }
+                return;
+            }
+        }
+        keepPending(session);
+        // Stop reading until the client has taken its replies
+        key.interestOps(SelectionKey.OP_WRITE);
+    }
+
+    private void keepPending(Session session) {
+        if (session.pending == null) {
+            session.pending = ByteBuffer.allocate(Math.max(256, writeBuffer.remaining()));
+        } else if (session.pending.remaining() < writeBuffer.remaining()) {
+            session.pending.flip();
+            ByteBuffer larger = ByteBuffer.allocate(session.pending.remaining() + writeBuffer.remaining() * 2);
+            larger.put(session.pending);
+            session.pending = larger;
+        }
+        session.pending.put(writeBuffer);
+    }
+
+    private void flushPending(SelectionKey key) throws IOException {
+        Session session = (Session) key.attachment();
+        session.pending.flip();
+        session.channel.write(session.pending);
+        if (session.pending.hasRemaining()) {
+            session.pending.compact();
+            return;
+        }
+        session.pending = null;
+        if (session.closing) {
+            close(key);
+        } else {
+            key.interestOps(SelectionKey.OP_READ);
+        }
+    }
+
+    private void close(SelectionKey key) {
+        if (!key.isValid()) {
+            return;
+        }
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            // The connection is gone either way
+        }
+        if (key.attachment() != null) {
+            connectionCount--;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        GameServer server = new GameServer(port);
+        int bound = server.bind();
+        System.out.println("=== JUNGLE CHESS SERVER listening on 127.0.0.1:" + bound + " ===");
+        System.out.println("Connect with a line-based client and type 'help'.");
+        server.serve();
+    }
+}
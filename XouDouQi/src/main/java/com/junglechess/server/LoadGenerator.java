@@ -0,0 +1,276 @@
+package com.junglechess.server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.junglechess.game.Game;
+import com.junglechess.game.Move;
+import com.junglechess.model.Player;
+import com.junglechess.model.Position;
+
+/**
+ * Load generator for {@link GameServer}.
+ * Opens a number of active connections that each play random legal games as fast as the
+ * server answers, one command in flight per connection, and optionally a number of idle
+ * connections that only hold a socket open. Every connection keeps a board-less copy of
+ * its game to choose legal moves. After a warm-up second, it measures the moves per second
+ * and the latency of each move command from sending it to reading the reply.
+ * <p>
+ * Usage: {@code LoadGenerator <connections> <seconds> [idleConnections] [port]}.
+ * Without a port, a server is started in the same process on a free port.
+ */
+public class LoadGenerator {
+    private static final long WARMUP_NANOS = 1_000_000_000L;
+
+    // Latencies are counted in 10 microsecond buckets up to one second
+    private static final int BUCKET_NANOS = 10_000;
+    private static final int BUCKETS = 100_000;
+
+    private static final Player RED = new Player("Red");
+    private static final Player BLUE = new Player("Blue");
+
+    private final int port;
+    private final SplittableRandom random = new SplittableRandom();
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(4096);
+    private final int[] moves = new int[Move.MAX_MOVES];
+    private final long[] latencies = new long[BUCKETS + 1];
+
+    private long measuredMoves;
+    private long maxLatencyNanos;
+    private long games;
+    private long errors;
+    private boolean measuring;
+
+    /**
+     * State of one active connection.
+     */
+    private static final class Client {
+        final SocketChannel channel;
+        final StringBuilder line = new StringBuilder();
+        Game game;
+        // Move waiting for its reply, or Move.NONE while a new game is requested
+        int move = Move.NONE;
+        long sentAt;
+
+        Client(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+
+    /**
+     * Constructor for a load generator.
+     * @param port the server port on 127.0.0.1
+     */
+    public LoadGenerator(int port) {
+        this.port = port;
+    }
+
+    /**
+     * Plays games on the server and prints the measurements.
+     * @param connections the number of connections playing games
+     * @param seconds how long to play, including the warm-up second
+     * @param idleConnections the number of extra connections kept open without sending anything
+     * @throws IOException if a connection fails
+     */
+    public void run(int connections, int seconds, int idleConnections) throws IOException {
+        List<SocketChannel> idle = new ArrayList<>(idleConnections);
+        for (int i = 0; i < idleConnections; i++) {
+            idle.add(SocketChannel.open(new InetSocketAddress("127.0.0.1", port)));
+        }
+        if (idleConnections > 0) {
+            System.out.println("Idle connections open: " + idleConnections);
+            System.out.println("Server: " + request("stats"));
+        }
+
+        Selector selector = Selector.open();
+        for (int i = 0; i < connections; i++) {
+            SocketChannel channel = SocketChannel.open(new InetSocketAddress("127.0.0.1", port));
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            Client client = new Client(channel);
+            channel.register(selector, SelectionKey.OP_READ, client);
+            send(client, "new");
+        }
+
+        long start = System.nanoTime();
+        long measureStart = start + WARMUP_NANOS;
+        long end = start + seconds * 1_000_000_000L;
+        long now = start;
+        while (now < end) {
+            selector.select(100);
+            now = System.nanoTime();
+            if (!measuring && now >= measureStart) {
+                measuring = true;
+                measureStart = now;
+            }
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                read((Client) key.attachment());
+            }
+        }
+        double measuredSeconds = (System.nanoTime() - measureStart) / 1e9;
+
+        System.out.println("Server: " + request("stats"));
+        for (SelectionKey key : selector.keys()) {
+            key.channel().close();
+        }
+        selector.close();
+        for (SocketChannel channel : idle) {
+            channel.close();
+        }
+        printReport(connections, measuredSeconds);
+    }
+
+    private void read(Client client) throws IOException {
+        readBuffer.clear();
+        if (client.channel.read(readBuffer) < 0) {
+            throw new IOException("Server closed the connection");
+        }
+        readBuffer.flip();
+        while (readBuffer.hasRemaining()) {
+            char c = (char) readBuffer.get();
+            if (c != '\n') {
+                client.line.append(c);
+                continue;
+            }
+            onReply(client, client.line.toString());
+            client.line.setLength(0);
+        }
+    }
+
+    private void onReply(Client client, String reply) throws IOException {
+        long latency = System.nanoTime() - client.sentAt;
+        if (client.move == Move.NONE) {
+            client.game = new Game(RED, BLUE, Position.initial());
+            games++;
+        } else if (reply.startsWith("ok")) {
+            client.game.makeMove(client.move);
+            if (measuring) {
+                record(latency);
+            }
+        } else {
+            errors++;
+            client.game = null;
+        }
+
+        if (client.game == null || client.game.isGameOver()) {
+            client.move = Move.NONE;
+            send(client, "new");
+            return;
+        }
+        int count = client.game.generateMoves(moves);
+        client.move = moves[random.nextInt(count)];
+        send(client, "move " + Move.toString(client.move));
+    }
+
+    private void record(long latencyNanos) {
+        measuredMoves++;
+        latencies[(int) Math.min(latencyNanos / BUCKET_NANOS, BUCKETS)]++;
+        maxLatencyNanos = Math.max(maxLatencyNanos, latencyNanos);
+    }
+
+    private void send(Client client, String command) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap((command + "\n").getBytes(StandardCharsets.US_ASCII));
+        client.sentAt = System.nanoTime();
+        // A command is a few bytes and the previous reply has been read, so this does not spin
+        while (buffer.hasRemaining()) {
+            client.channel.write(buffer);
+        }
+    }
+
+    /**
+     * Sends one command on a fresh blocking connection and reads its reply.
+     */
+    private String request(String command) throws IOException {
+        try (SocketChannel channel = SocketChannel.open(new InetSocketAddress("127.0.0.1", port))) {
+            channel.write(ByteBuffer.wrap((command + "\n").getBytes(StandardCharsets.US_ASCII)));
+            StringBuilder reply = new StringBuilder();
+            ByteBuffer buffer = ByteBuffer.allocate(256);
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    char c = (char) buffer.get();
+                    if (c == '\n') {
+                        return reply.toString();
+                    }
+                    reply.append(c);
+                }
+                buffer.clear();
+            }
+            return reply.toString();
+        }
+    }
+
+    private void printReport(int connections, double seconds) {
+        System.out.println();
+        System.out.println("Connections: " + connections + ", measured for " + String.format("%.1f s", seconds));
+        System.out.println("Moves: " + measuredMoves + ", games started: " + games + ", errors: " + errors);
+        System.out.println(String.format("Moves/second: %.0f", measuredMoves / Math.max(seconds, 1e-9)));
+        System.out.println(String.format("Move latency p50: %.3f ms", percentile(0.50) / 1e6));
+        System.out.println(String.format("Move latency p99: %.3f ms", percentile(0.99) / 1e6));
+        System.out.println(String.format("Move latency p99.9: %.3f ms", percentile(0.999) / 1e6));
+        System.out.println(String.format("Move latency max: %.3f ms", maxLatencyNanos / 1e6));
+    }
+
+    /**
+     * Gets a latency percentile from the histogram.
+     * @return the upper edge of the bucket holding the percentile, in nanoseconds
+     */
+    private long percentile(double fraction) {
+        long rank = (long) Math.ceil(fraction * measuredMoves);
+        long seen = 0;
+        for (int bucket = 0; bucket <= BUCKETS; bucket++) {
+            seen += latencies[bucket];
+            if (seen >= rank && seen > 0) {
+                return bucket == BUCKETS ? maxLatencyNanos : (bucket + 1L) * BUCKET_NANOS;
+            }
+        }
+        return 0;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: LoadGenerator <connections> <seconds> [idleConnections] [port]");
+            return;
+        }
+        int connections = Integer.parseInt(args[0]);
+        int seconds = Integer.parseInt(args[1]);
+        int idleConnections = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+
+        GameServer server = null;
+        int port;
+        if (args.length > 3) {
+            port = Integer.parseInt(args[3]);
+        } else {
+            server = new GameServer(0);
+            port = server.bind();
+            GameServer local = server;
+            Thread thread = new Thread(() -> {
+                try {
+                    local.serve();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }, "game-server");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        System.out.println("=== LOAD TEST (" + connections + " connections, " + seconds + " s, port " + port + ") ===");
+        new LoadGenerator(port).run(connections, seconds, idleConnections);
+        if (server != null) {
+            server.stop();
+        }
+    }
+}
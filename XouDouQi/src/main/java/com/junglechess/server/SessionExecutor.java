@@ -0,0 +1,105 @@
+package com.junglechess.server;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.junglechess.controller.GameController;
+import com.junglechess.db.DatabaseManager;
+import com.junglechess.game.Game;
+import com.junglechess.model.Player;
+
+/**
+ * Runs interactive player sessions, each on its own thread.
+ * A session is a complete {@link GameController} run over a client socket: authentication,
+ * the game loop and the statistics display, with every blocking read of the socket and
+ * every database call made directly on the session's thread.
+ * <p>
+ * With virtual threads a blocked session only keeps its small heap-allocated stack, so
+ * thousands of waiting players cost little. A fixed pool of platform threads is available
+ * for comparison; it can only run as many sessions at once as it has threads.
+ */
+public class SessionExecutor implements AutoCloseable {
+    private final ExecutorService executor;
+    private final DatabaseManager dbManager;
+    private final AtomicInteger activeSessions = new AtomicInteger();
+
+    private SessionExecutor(ExecutorService executor, DatabaseManager dbManager) {
+        this.executor = executor;
+        this.dbManager = dbManager;
+    }
+
+    /**
+     * Creates an executor starting a new virtual thread for every session.
+     * @param dbManager the connected database manager shared by all sessions
+     * @return the executor
+     */
+    public static SessionExecutor virtualThreads(DatabaseManager dbManager) {
+        return new SessionExecutor(
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("session-", 0).factory()), dbManager);
+    }
+
+    /**
+     * Creates an executor running sessions on a fixed pool of platform threads.
+     * @param threads the number of threads, which is also the number of sessions served at once
+     * @param dbManager the connected database manager shared by all sessions
+     * @return the executor
+     */
+    public static SessionExecutor platformThreads(int threads, DatabaseManager dbManager) {
+        return new SessionExecutor(
+            Executors.newFixedThreadPool(threads, Thread.ofPlatform().name("session-", 0).factory()), dbManager);
+    }
+
+    /**
+     * Starts a session for a connected client. The socket is closed when the session ends.
+     * @param socket the client's connection
+     */
+    public void submit(Socket socket) {
+        executor.execute(() -> runSession(socket));
+    }
+
+    private void runSession(Socket socket) {
+        activeSessions.incrementAndGet();
+        try (socket) {
+            Scanner scanner = new Scanner(socket.getInputStream(), StandardCharsets.UTF_8);
+            PrintStream out = new PrintStream(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+            Player placeholder = new Player("Dummy");
+            new GameController(new Game(placeholder, placeholder), null, scanner, out, dbManager).run();
+        } catch (NoSuchElementException | IOException e) {
+            // The client disconnected; the game is abandoned
+        } finally {
+            activeSessions.decrementAndGet();
+        }
+    }
+
+    /**
+     * Gets the number of sessions currently running.
+     * @return the number of sessions started and not yet finished
+     */
+    public int getActiveSessions() {
+        return activeSessions.get();
+    }
+
+    /**
+     * Stops accepting sessions and waits for the running ones to finish.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                // Keep waiting for players to finish their games
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.junglechess.server;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+import com.junglechess.db.DatabaseManager;
+
+/**
+ * Serves the interactive console game to network clients, one {@link SessionExecutor}
+ * session per connection. Clients see exactly what the console shows and type the same
+ * commands, e.g. with {@code telnet localhost 7272}.
+ * <p>
+ * Usage: {@code SessionServer [port] [platformThreads]}. Sessions run on virtual threads
+ * unless a number of platform threads is given.
+ */
+public class SessionServer {
+    public static final int DEFAULT_PORT = 7272;
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int platformThreads = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+
+        try (DatabaseManager dbManager = connect();
+             SessionExecutor sessions = platformThreads > 0
+                 ? SessionExecutor.platformThreads(platformThreads, dbManager)
+                 : SessionExecutor.virtualThreads(dbManager);
+             ServerSocket serverSocket = new ServerSocket(port, 1024, InetAddress.getLoopbackAddress())) {
+            System.out.println("=== JUNGLE CHESS SESSIONS listening on 127.0.0.1:" + port + " ("
+                + (platformThreads > 0 ? platformThreads + " platform threads" : "virtual threads") + ") ===");
+            while (true) {
+                Socket socket = serverSocket.accept();
+                sessions.submit(socket);
+            }
+        }
+    }
+
+    private static DatabaseManager connect() {
+        DatabaseManager dbManager = new DatabaseManager();
+        dbManager.connect();
+        dbManager.setupTables();
+        return dbManager;
+    }
+}
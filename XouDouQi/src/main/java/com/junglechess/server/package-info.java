@@ -0,0 +1,5 @@
+package com.junglechess.server;
+
+/**
+ * Package for the network server hosting many games over a line-based protocol
+ */
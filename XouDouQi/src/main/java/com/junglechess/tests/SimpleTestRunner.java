@@ -1,9 +1,30 @@
 package com.junglechess.tests;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import com.junglechess.ai.Evaluator;
+import com.junglechess.ai.TranspositionTable;
+import com.junglechess.db.GameArchive;
+import com.junglechess.db.GameArchiveWriter;
+import com.junglechess.db.PlayerCache;
+import com.junglechess.db.PlayerStats;
+import com.junglechess.model.Board;
 import com.junglechess.model.Piece;
 import com.junglechess.model.Player;
 import com.junglechess.model.Rank;
 import com.junglechess.game.Game;
+import com.junglechess.game.Move;
+import com.junglechess.game.MoveRecord;
+import com.junglechess.game.Perft;
+import com.junglechess.game.WinReason;
+import com.junglechess.model.Position;
+import com.junglechess.model.PositionNotation;
+import com.junglechess.model.PositionSnapshot;
+import com.junglechess.model.Zobrist;
 
 /**
  * Simple test runner to verify basic functionality without JUnit dependencies.
@@ -21,6 +42,15 @@ public class SimpleTestRunner {
         testPieceCapture();
         testGameInitialization();
         testRankValues();
+        testMoveGeneration();
+        testMakeUnmake();
+        testSnapshots();
+        testNotation();
+        testPerft();
+        testMoveRecords();
+        testGameArchive();
+        testPlayerCache();
+        testTranspositionTable();
         
         System.out.println();
         System.out.println("=== TEST RESULTS ===");
@@ -35,6 +65,7 @@ public class SimpleTestRunner {
         }
     }
     
+    @SuppressWarnings("deprecation")
     private static void testPieceCapture() {
         System.out.println("Testing piece capture logic...");
         
@@ -61,6 +92,17 @@ public class SimpleTestRunner {
         // Test: Trapped piece mechanics
         elephant.setTrapped(true);
         assertTrue("Any piece should capture trapped enemy", cat.canCapture(elephant));
+        elephant.setTrapped(false);
+        
+        // Test: Trap status and the river rule come from square terrain
+        Board board = new Board(player1, player2);
+        Piece redCat = new Piece(Rank.CHAT, player1);
+        assertTrue("Any piece should capture an enemy in its trap",
+                   redCat.canCapture(elephant, board.getSquare(6, 3), board.getSquare(7, 3)));
+        assertFalse("Rat in the water should NOT capture Elephant on land",
+                    rat.canCapture(elephant, board.getSquare(3, 1), board.getSquare(2, 1)));
+        assertTrue("Rat on land should capture Elephant",
+                   rat.canCapture(elephant, board.getSquare(2, 0), board.getSquare(2, 1)));
         
         System.out.println();
     }
@@ -100,6 +142,311 @@ public class SimpleTestRunner {
         System.out.println();
     }
     
+    private static void testMoveGeneration() {
+        System.out.println("Testing move generation...");
+        
+        Player player1 = new Player("Alice");
+        Player player2 = new Player("Bob");
+        Game game = new Game(player1, player2);
+        int[] moves = new int[Move.MAX_MOVES];
+        int count = game.generateMoves(moves);
+        
+        // Test: Red has 24 legal moves in the starting position
+        assertTrue("Starting position should have 24 moves", count == 24);
+        
+        // Test: Every generated move is accepted by movePiece
+        boolean allAccepted = true;
+        for (int i = 0; i < count; i++) {
+            Game copy = new Game(player1, player2, game.getPosition());
+            int from = Move.from(moves[i]);
+            int to = Move.to(moves[i]);
+            allAccepted &= copy.movePiece(player1, Position.row(from), Position.column(from),
+                                          Position.row(to), Position.column(to));
+        }
+        assertTrue("Generated moves should be accepted by movePiece", allAccepted);
+        
+        System.out.println();
+    }
+    
+    private static void testMakeUnmake() {
+        System.out.println("Testing make/unmake...");
+        
+        Player player1 = new Player("Alice");
+        Player player2 = new Player("Bob");
+        Game game = new Game(player1, player2);
+        Position start = game.getPosition().copy();
+        int[] moves = new int[Move.MAX_MOVES];
+        boolean keysMatch = true;
+        
+        // Play a few plies, always taking the first generated move, then undo them all
+        for (int ply = 0; ply < 10; ply++) {
+            int count = game.generateMoves(moves);
+            if (count == 0) {
+                break;
+            }
+            game.makeMove(moves[0]);
+            keysMatch &= game.positionKey() == Zobrist.hash(game.getPosition());
+        }
+        assertTrue("Incremental position keys should match recomputed keys", keysMatch);
+        while (game.unmakeMove()) {
+            // Keep undoing until the stack is empty
+        }
+        
+        boolean restored = game.getPosition().getSideToMove() == start.getSideToMove();
+        for (int square = 0; square < Position.SQUARE_COUNT; square++) {
+            restored &= game.getPosition().pieceAt(square) == start.pieceAt(square);
+            Piece piece = game.getBoard().getSquare(Position.row(square), Position.column(square)).getPiece();
+            restored &= (piece == null) == (start.pieceAt(square) == Position.EMPTY);
+        }
+        assertTrue("Undoing every move should restore the starting position", restored);
+        assertTrue("Undoing every move should restore the starting key", game.positionKey() == start.getKey());
+        assertTrue("Undo on an empty history should fail", !game.unmakeMove());
+        
+        // A capture made before the board is built must survive an undo through the board
+        Game lazy = new Game(player1, player2, "7/7/7/7/7/6c/6R/7/7 r");
+        int cat = lazy.getPosition().pieceAt(Position.index(5, 6));
+        lazy.makeMove(Move.encode(Position.index(6, 6), Position.index(5, 6)));
+        lazy.getBoard();
+        lazy.unmakeMove();
+        Piece restoredCat = lazy.getBoard().getSquare(5, 6).getPiece();
+        assertTrue("Undo after building the board should restore the captured piece",
+                   lazy.getPosition().pieceAt(Position.index(5, 6)) == cat
+                   && restoredCat != null && restoredCat.getOwner() == player2);
+        
+        System.out.println();
+    }
+    
+    private static void testSnapshots() {
+        System.out.println("Testing position snapshots...");
+        
+        Game game = new Game(new Player("Alice"), new Player("Bob"));
+        PositionSnapshot before = game.snapshot();
+        int[] moves = new int[Move.MAX_MOVES];
+        game.generateMoves(moves);
+        int from = Move.from(moves[0]);
+        game.makeMove(moves[0]);
+        
+        assertTrue("Snapshot should not change when the game moves on", before.pieceAt(from) != Position.EMPTY);
+        assertTrue("Snapshot should differ from the new position", !before.equals(game.snapshot()));
+        game.unmakeMove();
+        PositionSnapshot after = game.snapshot();
+        assertTrue("Snapshots of the same position should be equal", before.equals(after) && before != after);
+        assertTrue("Interning equal snapshots should share one instance", before.intern() == after.intern());
+        assertTrue("Rebuilt position should keep the key", after.toPosition().getKey() == after.getKey());
+        
+        System.out.println();
+    }
+    
+    private static void testNotation() {
+        System.out.println("Testing position notation...");
+        
+        assertTrue("Starting position should format to the standard notation",
+                   PositionNotation.format(Position.initial()).equals(PositionNotation.INITIAL));
+        String endgame = "3e3/7/7/1R5/7/7/2L4/7/3T3 b";
+        Position parsed = PositionNotation.parse(endgame);
+        assertTrue("Parsing then formatting should round-trip", PositionNotation.format(parsed).equals(endgame));
+        assertTrue("Parsed position should keep a consistent key", parsed.getKey() == Zobrist.hash(parsed));
+        boolean rejected = false;
+        try {
+            PositionNotation.parse("7/7/7 r");
+        } catch (IllegalArgumentException e) {
+            rejected = true;
+        }
+        assertTrue("Malformed notation should be rejected", rejected);
+        
+        System.out.println();
+    }
+    
+    private static void testPerft() {
+        System.out.println("Testing perft node counts...");
+        
+        Game game = new Game(new Player("Alice"), new Player("Bob"));
+        long[] expected = {24, 576, 12240, 260099};
+        for (int depth = 1; depth <= expected.length; depth++) {
+            assertTrue("Perft " + depth + " should be " + expected[depth - 1],
+                       Perft.perft(game, depth) == expected[depth - 1]);
+        }
+        
+        System.out.println();
+    }
+    
+    private static void testMoveRecords() {
+        System.out.println("Testing move records...");
+        
+        // Random games from a fixed seed include river jumps as well as steps
+        SplittableRandom random = new SplittableRandom(42);
+        int[] moves = new int[Move.MAX_MOVES];
+        boolean roundTrips = true;
+        long totalMoves = 0;
+        long totalBytes = 0;
+        boolean sawJump = false;
+        for (int i = 0; i < 200; i++) {
+            Game game = new Game(new Player("Alice"), new Player("Bob"), Position.initial());
+            while (!game.isGameOver() && game.getMoveCount() < 300) {
+                game.makeMove(moves[random.nextInt(game.generateMoves(moves))]);
+            }
+            byte[] record = MoveRecord.encode(game);
+            int[] decoded = MoveRecord.decode(record);
+            roundTrips &= decoded.length == game.getMoveCount();
+            for (int ply = 0; roundTrips && ply < decoded.length; ply++) {
+                roundTrips &= decoded[ply] == game.getMove(ply);
+            }
+            totalMoves += decoded.length;
+            totalBytes += record.length;
+            sawJump |= record.length > decoded.length;
+        }
+        assertTrue("Decoding a record should give back every move of the game", roundTrips);
+        assertTrue("River jumps should be recorded", sawJump);
+        assertTrue("Records should take little more than one byte per move", totalBytes < totalMoves * 11 / 10);
+        
+        // A jump cut short, a jump from no square, a step off the board and a jump where there is no river
+        byte[][] corrupt = {{(byte) 0x3F}, {(byte) 0x3F, (byte) 63}, {0}, {(byte) 0x3F, 0}};
+        boolean rejected = true;
+        for (byte[] record : corrupt) {
+            try {
+                MoveRecord.decode(record);
+                rejected = false;
+            } catch (IllegalArgumentException e) {
+                // Expected
+            }
+        }
+        assertTrue("Corrupt records should be rejected", rejected);
+        
+        System.out.println();
+    }
+    
+    private static void testGameArchive() {
+        System.out.println("Testing game archive...");
+        
+        Path file = null;
+        try {
+            file = Files.createTempFile("junglechess-test", ".jca");
+            Files.delete(file);
+            // Three chunks, the last one written by a second writer appending to the file
+            try (GameArchiveWriter writer = GameArchiveWriter.open(file)) {
+                for (int i = 0; i < 20; i++) {
+                    writer.add(i, i & 1, WinReason.SANCTUARY, "winner" + i, "loser" + i, new byte[i % 3]);
+                    if (i == 6) {
+                        writer.flush();
+                    }
+                }
+            }
+            try (GameArchiveWriter writer = GameArchiveWriter.open(file)) {
+                writer.add(20, 20 & 1, WinReason.NO_PIECES, "winner20", "loser20", new byte[2]);
+            }
+            try (GameArchive archive = GameArchive.open(file)) {
+                assertTrue("Archive should hold every game written", archive.getGameCount() == 21);
+                GameArchive.Cursor cursor = archive.cursor(5, 21);
+                boolean matches = true;
+                long expected = 5;
+                while (cursor.next()) {
+                    ByteBuffer moves = cursor.moves();
+                    matches &= cursor.getGameNumber() == expected && cursor.getFinishedAt() == expected
+                        && cursor.getWinner().equals("winner" + expected) && cursor.getLoser().equals("loser" + expected)
+                        && cursor.getWinnerSide() == (expected & 1) && moves.remaining() == expected % 3;
+                    expected++;
+                }
+                assertTrue("A cursor over a range should read each game across chunks", matches && expected == 21);
+            }
+        } catch (IOException e) {
+            assertTrue("Archive should be written and read without errors: " + e.getMessage(), false);
+        } finally {
+            if (file != null) {
+                file.toFile().delete();
+            }
+        }
+        
+        System.out.println();
+    }
+    
+    private static void testPlayerCache() {
+        System.out.println("Testing player cache...");
+        
+        // Reading alice makes bob the least recently used player
+        PlayerCache cache = new PlayerCache(2);
+        cache.putPassword("alice", "a");
+        cache.putPassword("bob", "b");
+        cache.getPassword("alice");
+        cache.putPassword("carol", "c");
+        assertTrue("The least recently used player should be evicted",
+                   cache.getPassword("bob") == null && "a".equals(cache.getPassword("alice"))
+                   && "c".equals(cache.getPassword("carol")));
+        assertTrue("The cache should stay within its size and count the eviction",
+                   cache.getSize() == 2 && cache.getEvictions() == 1);
+        assertTrue("Hits and misses should be counted", cache.getHits() == 3 && cache.getMisses() == 1);
+        
+        // A read that started before a save may have missed the result
+        long staleVersion = cache.getVersion();
+        cache.resultSaving("alice", "carol", 1000);
+        cache.resultSaved();
+        cache.putStats("alice", PlayerStats.NONE, staleVersion);
+        assertTrue("Statistics read while a result was saved should not be cached", cache.getStats("alice") == null);
+        
+        cache.putStats("alice", PlayerStats.NONE.withResult(true, 1000), cache.getVersion());
+        cache.resultSaving("alice", "carol", 2000);
+        cache.resultSaved();
+        PlayerStats stats = cache.getStats("alice");
+        assertTrue("Saved results should update cached statistics",
+                   stats != null && stats.getWins() == 2 && stats.getCurrentStreak() == 2 && stats.getLastPlayed() == 2000);
+        
+        cache.invalidate("alice");
+        assertTrue("Invalidated statistics should be read again", cache.getStats("alice") == null);
+        
+        PlayerCache disabled = new PlayerCache(0);
+        disabled.putPassword("alice", "a");
+        assertTrue("A cache of size 0 should keep nothing", disabled.getPassword("alice") == null && disabled.getSize() == 0);
+        
+        System.out.println();
+    }
+    
+    private static void testTranspositionTable() {
+        System.out.println("Testing transposition table...");
+        
+        TranspositionTable table = new TranspositionTable(1);
+        table.newSearch();
+        long key = 0x123456789ABCDEF0L;
+        int move = Move.encode(3, 10);
+        table.store(key, move, -4321, 7, TranspositionTable.LOWER_BOUND);
+        long entry = table.probe(key);
+        assertTrue("A stored result should be found with its move, score, depth and bound",
+                   TranspositionTable.move(entry) == move && TranspositionTable.score(entry) == -4321
+                   && TranspositionTable.depth(entry) == 7 && TranspositionTable.bound(entry) == TranspositionTable.LOWER_BOUND);
+        // Keys that differ only in their high bits share a bucket
+        assertTrue("A different key in the same bucket should miss",
+                   table.probe(key ^ (1L << 60)) == TranspositionTable.MISS);
+        
+        // The deeper result keeps the depth-preferred slot, and the second slot takes the newest one
+        long deep = key ^ (1L << 50);
+        long shallow = key ^ (1L << 51);
+        long newest = key ^ (1L << 52);
+        table.clear();
+        table.newSearch();
+        table.store(deep, Move.NONE, 0, 9, TranspositionTable.EXACT);
+        table.store(shallow, Move.NONE, 0, 2, TranspositionTable.EXACT);
+        table.store(newest, Move.NONE, 0, 1, TranspositionTable.EXACT);
+        assertTrue("A shallower result should not replace a deeper one from the same search",
+                   table.probe(deep) != TranspositionTable.MISS && table.probe(newest) != TranspositionTable.MISS
+                   && table.probe(shallow) == TranspositionTable.MISS);
+        table.store(shallow, Move.NONE, 0, 12, TranspositionTable.EXACT);
+        assertTrue("A deeper result should replace a shallower one",
+                   TranspositionTable.depth(table.probe(shallow)) == 12 && table.probe(deep) == TranspositionTable.MISS);
+        table.newSearch();
+        table.store(deep, Move.NONE, 0, 1, TranspositionTable.EXACT);
+        assertTrue("A result from an older search should be replaced whatever its depth",
+                   table.probe(deep) != TranspositionTable.MISS && table.probe(shallow) == TranspositionTable.MISS);
+        
+        // A win 5 plies from the root, stored at ply 3 and reached again at ply 7
+        int stored = TranspositionTable.scoreToTable(Evaluator.WIN_SCORE - 5, 3);
+        assertTrue("Win scores should be stored relative to the node and read back relative to the root",
+                   stored == Evaluator.WIN_SCORE - 2
+                   && TranspositionTable.scoreFromTable(stored, 7) == Evaluator.WIN_SCORE - 9
+                   && TranspositionTable.scoreFromTable(TranspositionTable.scoreToTable(-Evaluator.WIN_SCORE + 4, 4), 4)
+                      == -Evaluator.WIN_SCORE + 4
+                   && TranspositionTable.scoreToTable(250, 6) == 250);
+        
+        System.out.println();
+    }
+    
     private static void assertTrue(String message, boolean condition) {
         tests++;
         if (condition) {
@@ -0,0 +1,226 @@
+package com.junglechess.view;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.junglechess.model.Board;
+import com.junglechess.model.Position;
+import com.junglechess.model.SquareType;
+
+/**
+ * Draws the board as a single buffered frame.
+ * The text of every cell state (each piece of each side, each kind of empty terrain)
+ * is built once, including its ANSI colour escapes. A frame is assembled into a reusable
+ * byte buffer and written to the stream with one call.
+ * <p>
+ * In incremental mode, a frame drawn right after the previous one only rewrites the cells
+ * that changed, using cursor-movement escapes. This needs the cursor to still be on the
+ * line below the previous frame, so anything printed in between must be followed by
+ * {@link #invalidate()}.
+ */
+public final class BoardRenderer {
+    private static final String ESC = "\u001B[";
+    private static final String RESET = ESC + "0m";
+    private static final String BOLD = ESC + "1m";
+    private static final String YELLOW = ESC + "33m";
+    private static final String CYAN = ESC + "36m";
+    private static final String BRIGHT_WHITE = ESC + "97m";
+    private static final String BRIGHT_GREEN = ESC + "92m";
+    private static final String BRIGHT_RED = ESC + "91m";
+    private static final String BRIGHT_BLUE = ESC + "94m";
+
+    // Piece codes are 1-16; empty squares use 17 plus the terrain ordinal
+    private static final int EMPTY_STATE = 17;
+    private static final int NO_STATE = -1;
+    private static final String[] SYMBOLS = {"ELE", "LIO", "TIG", "PAN", "CHI", "LOU", "CHA", "RAT"};
+    private static final byte[][] CELLS = new byte[EMPTY_STATE + SquareType.values().length][];
+    private static final byte[] EMPTY_STATES = new byte[Position.SQUARE_COUNT];
+
+    private static final byte[] HEADER;
+    private static final byte[] SEPARATOR;
+    private static final byte[][] ROW_LABELS = new byte[Position.ROWS][];
+    private static final byte[] CELL_END = ascii(BRIGHT_WHITE + "|" + RESET);
+
+    // Frame layout: line of the first board row (each row takes two lines with its separator)
+    // and the line the cursor is left on after a complete frame
+    private static final int FIRST_ROW_LINE = 7;
+    private static final int CURSOR_LINE = FIRST_ROW_LINE + 2 * Position.ROWS;
+
+    static {
+        for (int side = Position.RED; side <= Position.BLUE; side++) {
+            String color = side == Position.RED ? BRIGHT_RED : BRIGHT_BLUE;
+            for (int rank = 0; rank < SYMBOLS.length; rank++) {
+                CELLS[1 + (side << 3) + rank] = ascii(BOLD + color + SYMBOLS[rank] + RESET);
+            }
+        }
+        for (int square = 0; square < Position.SQUARE_COUNT; square++) {
+            EMPTY_STATES[square] = (byte) (EMPTY_STATE + Position.terrainAt(square).ordinal());
+        }
+        CELLS[EMPTY_STATE + SquareType.NORMAL.ordinal()] = ascii("   ");
+        CELLS[EMPTY_STATE + SquareType.RIVIERE.ordinal()] = ascii(BOLD + CYAN + "~~~" + RESET);
+        CELLS[EMPTY_STATE + SquareType.PIEGE.ordinal()] = ascii(BOLD + YELLOW + "###" + RESET);
+        CELLS[EMPTY_STATE + SquareType.SANCTUAIRE_RED.ordinal()] = ascii(BOLD + BRIGHT_RED + "***" + RESET);
+        CELLS[EMPTY_STATE + SquareType.SANCTUAIRE_BLUE.ordinal()] = ascii(BOLD + BRIGHT_BLUE + "***" + RESET);
+
+        StringBuilder line = new StringBuilder("   " + BRIGHT_WHITE + "+");
+        for (int col = 0; col < Position.COLUMNS; col++) {
+            line.append(col < Position.COLUMNS - 1 ? "---+" : "---");
+        }
+        SEPARATOR = ascii(line.append("+" + RESET + "\n").toString());
+
+        StringBuilder header = new StringBuilder("\n");
+        header.append(BOLD + BRIGHT_WHITE + "+==========================================+" + RESET + "\n");
+        header.append(BOLD + BRIGHT_WHITE + "|" + BRIGHT_GREEN + "        JUNGLE CHESS BOARD        " + BRIGHT_WHITE + "|" + RESET + "\n");
+        header.append(BOLD + BRIGHT_WHITE + "+==========================================+" + RESET + "\n");
+        header.append("\n     ");
+        for (int col = 0; col < Position.COLUMNS; col++) {
+            header.append(BOLD + YELLOW + " ").append((char) ('A' + col)).append("  " + RESET);
+        }
+        header.append("\n");
+        HEADER = ascii(header.toString());
+
+        for (int row = 0; row < Position.ROWS; row++) {
+            ROW_LABELS[row] = ascii(BOLD + YELLOW + " " + (row + 1) + " " + RESET + BRIGHT_WHITE + "|" + RESET);
+        }
+    }
+
+    private byte[] buffer = new byte[4096];
+    private int length;
+    private final byte[] drawn = new byte[Position.SQUARE_COUNT];
+    private boolean incremental;
+    private boolean frameOnScreen;
+    // A lock rather than synchronized, so a virtual thread blocked writing a frame does not pin its carrier
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Constructor for a renderer that always draws complete frames.
+     */
+    public BoardRenderer() {
+        invalidate();
+    }
+
+    /**
+     * Turns redrawing of changed cells only on or off.
+     * @param incremental true to rewrite only changed cells when the previous frame is still on screen
+     */
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    /**
+     * Forgets the previous frame, so the next render draws a complete one.
+     * Call this after printing anything below the board in incremental mode.
+     */
+    public void invalidate() {
+        Arrays.fill(drawn, (byte) NO_STATE);
+        frameOnScreen = false;
+    }
+
+    /**
+     * Draws a board with a single write to the stream.
+     * @param board the board to draw
+     * @param out the stream to write to
+     * @return the number of bytes written
+     */
+    public int render(Board board, PrintStream out) {
+        lock.lock();
+        try {
+            Position position = board.getPosition();
+            length = 0;
+            if (incremental && frameOnScreen) {
+                appendChangedCells(position);
+            } else {
+                appendFrame(position);
+                frameOnScreen = true;
+            }
+            if (length > 0) {
+                out.write(buffer, 0, length);
+                out.flush();
+            }
+            return length;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void appendFrame(Position position) {
+        append(HEADER);
+        append(SEPARATOR);
+        for (int row = 0; row < Position.ROWS; row++) {
+            append(ROW_LABELS[row]);
+            for (int col = 0; col < Position.COLUMNS; col++) {
+                int square = Position.index(row, col);
+                int state = stateOf(position, square);
+                drawn[square] = (byte) state;
+                append(CELLS[state]);
+                append(CELL_END);
+            }
+            append((byte) '\n');
+            append(SEPARATOR);
+        }
+    }
+
+    /**
+     * Rewrites only the cells whose state differs from the frame on screen.
+     * The cursor is saved below the frame, moved up to each cell and restored afterwards.
+     */
+    private void appendChangedCells(Position position) {
+        for (int square = 0; square < Position.SQUARE_COUNT; square++) {
+            int state = stateOf(position, square);
+            if (drawn[square] == state) {
+                continue;
+            }
+            drawn[square] = (byte) state;
+            int linesUp = CURSOR_LINE - (FIRST_ROW_LINE + 2 * Position.row(square));
+            int column = 5 + 4 * Position.column(square);
+            append((byte) 0x1B);
+            append((byte) '7');
+            appendEscape(linesUp, 'A');
+            appendEscape(column, 'G');
+            append(CELLS[state]);
+            append((byte) 0x1B);
+            append((byte) '8');
+        }
+    }
+
+    private static int stateOf(Position position, int square) {
+        int code = position.pieceAt(square);
+        return code != Position.EMPTY ? code : EMPTY_STATES[square];
+    }
+
+    private void appendEscape(int count, char command) {
+        append((byte) 0x1B);
+        append((byte) '[');
+        if (count >= 10) {
+            append((byte) ('0' + count / 10));
+        }
+        append((byte) ('0' + count % 10));
+        append((byte) command);
+    }
+
+    private void append(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, length, bytes.length);
+        length += bytes.length;
+    }
+
+    private void append(byte b) {
+        ensureCapacity(1);
+        buffer[length++] = b;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+        }
+    }
+
+    private static byte[] ascii(String text) {
+        byte[] bytes = new byte[text.length()];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) text.charAt(i);
+        }
+        return bytes;
+    }
+}
@@ -1,5 +1,7 @@
 package com.junglechess.view;
 
+import java.io.PrintStream;
+
 import com.junglechess.model.Board;
 import com.junglechess.model.Piece;
 import com.junglechess.model.Player;
@@ -9,7 +11,12 @@ import com.junglechess.model.SquareType;
 
 /**
  * View component for displaying the game state in the console.
- * This class is stateless and only contains static methods for rendering.
+ * This class only contains static methods for rendering; the board itself is
+ * drawn by a {@link BoardRenderer}.
+ * <p>
+ * Output goes to {@code System.out} unless the calling thread has chosen another stream
+ * with {@link #setOutput(PrintStream)}, so sessions running on their own threads each
+ * write to their own client. Each thread also draws with its own renderer.
  */
 public class ConsoleView {    // ANSI color codes for colored output
     private static final String ANSI_RESET = "\u001B[0m";
@@ -32,95 +39,71 @@ public class ConsoleView {    // ANSI color codes for colored output
     
     // Text styling
     private static final String ANSI_BOLD = "\u001B[1m";
-    private static final String ANSI_UNDERLINE = "\u001B[4m";    /**
+    private static final String ANSI_UNDERLINE = "\u001B[4m";
+
+    // Output stream and renderer of each thread, System.out and a fresh renderer by default
+    private static final ThreadLocal<PrintStream> OUTPUT = new ThreadLocal<>();
+    private static final ThreadLocal<BoardRenderer> RENDERER = ThreadLocal.withInitial(BoardRenderer::new);
+
+    /**
+     * Sends the calling thread's console output to another stream.
+     * @param out the stream to write to, or null to go back to System.out
+     */
+    public static void setOutput(PrintStream out) {
+        if (out == null) {
+            OUTPUT.remove();
+            RENDERER.remove();
+        } else {
+            OUTPUT.set(out);
+        }
+    }
+
+    /**
+     * Gets the stream the calling thread's console output goes to.
+     * @return the stream set with {@link #setOutput(PrintStream)}, or System.out
+     */
+    public static PrintStream out() {
+        PrintStream out = OUTPUT.get();
+        return out != null ? out : System.out;
+    }
+
+    /**
      * Displays the current state of the Jungle Chess board.
+     * The whole frame is built in a reusable buffer and written at once by {@link BoardRenderer}.
      * @param board the game board to display
      */
     public static void displayBoard(Board board) {
         if (board == null) {
-            System.out.println("Error: Cannot display null board");
+            out().println("Error: Cannot display null board");
             return;
         }
-
-        System.out.println();
-          // Enhanced title with styling
-        System.out.println(ANSI_BOLD + ANSI_BRIGHT_WHITE + "+==========================================+" + ANSI_RESET);
-        System.out.println(ANSI_BOLD + ANSI_BRIGHT_WHITE + "|" + ANSI_BRIGHT_GREEN + "        JUNGLE CHESS BOARD        " + ANSI_BRIGHT_WHITE + "|" + ANSI_RESET);
-        System.out.println(ANSI_BOLD + ANSI_BRIGHT_WHITE + "+==========================================+" + ANSI_RESET);
-        System.out.println();
-
-        // Display column headers (A-G) with enhanced styling
-        System.out.print("     ");
-        for (int col = 0; col < board.getColumnCount(); col++) {
-            System.out.print(ANSI_BOLD + ANSI_YELLOW + " " + (char)('A' + col) + "  " + ANSI_RESET);
-        }
-        System.out.println();        // Display enhanced horizontal separator
-        System.out.print("   " + ANSI_BRIGHT_WHITE + "+");
-        for (int col = 0; col < board.getColumnCount(); col++) {
-            System.out.print("---");
-            if (col < board.getColumnCount() - 1) {
-                System.out.print("+");
-            }
-        }
-        System.out.println("+" + ANSI_RESET);
-
-        // Display rows with row numbers (1-9)
-        for (int row = 0; row < board.getRowCount(); row++) {            // Row number with styling
-            System.out.print(ANSI_BOLD + ANSI_YELLOW + " " + (row + 1) + " " + ANSI_RESET + ANSI_BRIGHT_WHITE + "|" + ANSI_RESET);
-            
-            // Display cells in this row
-            for (int col = 0; col < board.getColumnCount(); col++) {
-                Square square = board.getSquare(row, col);
-                System.out.print(formatSquareEnhanced(square));
-                System.out.print(ANSI_BRIGHT_WHITE + "|" + ANSI_RESET);
-            }
-            System.out.println();            // Display horizontal separator (except for last row)
-            if (row < board.getRowCount() - 1) {
-                System.out.print("   " + ANSI_BRIGHT_WHITE + "+");
-                for (int col = 0; col < board.getColumnCount(); col++) {
-                    System.out.print("---");
-                    if (col < board.getColumnCount() - 1) {
-                        System.out.print("+");
-                    }
-                }
-                System.out.println("+" + ANSI_RESET);
-            }
-        }
-          // Bottom border
-        System.out.print("   " + ANSI_BRIGHT_WHITE + "+");
-        for (int col = 0; col < board.getColumnCount(); col++) {
-            System.out.print("---");
-            if (col < board.getColumnCount() - 1) {
-                System.out.print("+");
-            }
-        }
-        System.out.println("+" + ANSI_RESET);
+        RENDERER.get().render(board, out());
     }    /**
      * Displays the legend for game symbols and pieces.
      */
-    private static void displayLegend() {        System.out.println(ANSI_BOLD + ANSI_BRIGHT_GREEN + "+==========================================+" + ANSI_RESET);
-        System.out.println(ANSI_BOLD + ANSI_BRIGHT_GREEN + "|" + ANSI_BRIGHT_WHITE + "            BOARD LEGEND            " + ANSI_BRIGHT_GREEN + "|" + ANSI_RESET);
-        System.out.println(ANSI_BOLD + ANSI_BRIGHT_GREEN + "+==========================================+" + ANSI_RESET);
-        System.out.println();
+    private static void displayLegend() {        out().println(ANSI_BOLD + ANSI_BRIGHT_GREEN + "+==========================================+" + ANSI_RESET);
+        out().println(ANSI_BOLD + ANSI_BRIGHT_GREEN + "|" + ANSI_BRIGHT_WHITE + "            BOARD LEGEND            " + ANSI_BRIGHT_GREEN + "|" + ANSI_RESET);
+        out().println(ANSI_BOLD + ANSI_BRIGHT_GREEN + "+==========================================+" + ANSI_RESET);
+        out().println();
           // Special squares legend with enhanced visuals
-        System.out.println(ANSI_BOLD + ANSI_YELLOW + "SPECIAL TERRAIN:" + ANSI_RESET);
-        System.out.println("  " + ANSI_BOLD + ANSI_CYAN + "~~~" + ANSI_RESET + " - River (only RAT can enter; LION/TIGER can jump over)");
-        System.out.println("  " + ANSI_BOLD + ANSI_YELLOW + "###" + ANSI_RESET + " - Trap (weakens pieces - any animal can capture trapped pieces)");
-        System.out.println("  " + ANSI_BOLD + ANSI_BRIGHT_RED + "***" + ANSI_RESET + " - Red Sanctuary (Blue wins by entering)");
-        System.out.println("  " + ANSI_BOLD + ANSI_BRIGHT_BLUE + "***" + ANSI_RESET + " - Blue Sanctuary (Red wins by entering)");
-        System.out.println();
+        out().println(ANSI_BOLD + ANSI_YELLOW + "SPECIAL TERRAIN:" + ANSI_RESET);
+        out().println("  " + ANSI_BOLD + ANSI_CYAN + "~~~" + ANSI_RESET + " - River (only RAT can enter; LION/TIGER can jump over)");
+        out().println("  " + ANSI_BOLD + ANSI_YELLOW + "###" + ANSI_RESET + " - Trap (weakens pieces - any animal can capture trapped pieces)");
+        out().println("  " + ANSI_BOLD + ANSI_BRIGHT_RED + "***" + ANSI_RESET + " - Red Sanctuary (Blue wins by entering)");
+        out().println("  " + ANSI_BOLD + ANSI_BRIGHT_BLUE + "***" + ANSI_RESET + " - Blue Sanctuary (Red wins by entering)");
+        out().println();
           // Enhanced pieces legend with both symbols and abbreviations
-        System.out.println(ANSI_BOLD + ANSI_YELLOW + "ANIMALS (by strength, strongest to weakest):" + ANSI_RESET);
-        System.out.println("  8. " + ANSI_BRIGHT_RED + "ELE" + ANSI_RESET + " / " + ANSI_BRIGHT_BLUE + "ELE" + ANSI_RESET + " - Elephant    " + 
+        out().println(ANSI_BOLD + ANSI_YELLOW + "ANIMALS (by strength, strongest to weakest):" + ANSI_RESET);
+        out().println("  8. " + ANSI_BRIGHT_RED + "ELE" + ANSI_RESET + " / " + ANSI_BRIGHT_BLUE + "ELE" + ANSI_RESET + " - Elephant    " + 
                           "7. " + ANSI_BRIGHT_RED + "LIO" + ANSI_RESET + " / " + ANSI_BRIGHT_BLUE + "LIO" + ANSI_RESET + " - Lion        " +
                           "6. " + ANSI_BRIGHT_RED + "TIG" + ANSI_RESET + " / " + ANSI_BRIGHT_BLUE + "TIG" + ANSI_RESET + " - Tiger");
-        System.out.println("  5. " + ANSI_BRIGHT_RED + "PAN" + ANSI_RESET + " / " + ANSI_BRIGHT_BLUE + "PAN" + ANSI_RESET + " - Panther     " + 
+        out().println("  5. " + ANSI_BRIGHT_RED + "PAN" + ANSI_RESET + " / " + ANSI_BRIGHT_BLUE + "PAN" + ANSI_RESET + " - Panther     " + 
                           "4. " + ANSI_BRIGHT_RED + "CHI" + ANSI_RESET + " / " + ANSI_BRIGHT_BLUE + "CHI" + ANSI_RESET + " - Dog         " +
                           "3. " + ANSI_BRIGHT_RED + "LOU" + ANSI_RESET + " / " + ANSI_BRIGHT_BLUE + "LOU" + ANSI_RESET + " - Wolf");
-        System.out.println("  2. " + ANSI_BRIGHT_RED + "CHA" + ANSI_RESET + " / " + ANSI_BRIGHT_BLUE + "CHA" + ANSI_RESET + " - Cat         " + 
+        out().println("  2. " + ANSI_BRIGHT_RED + "CHA" + ANSI_RESET + " / " + ANSI_BRIGHT_BLUE + "CHA" + ANSI_RESET + " - Cat         " + 
                           "1. " + ANSI_BRIGHT_RED + "RAT" + ANSI_RESET + " / " + ANSI_BRIGHT_BLUE + "RAT" + ANSI_RESET + " - Rat (can capture Elephant!)");
-        System.out.println();
-        System.out.println("Colors: " + ANSI_BOLD + ANSI_BRIGHT_RED + "Red Player" + ANSI_RESET + " vs " + ANSI_BOLD + ANSI_BRIGHT_BLUE + "Blue Player" + ANSI_RESET);
+        out().println();
+        out().println("Colors: " + ANSI_BOLD + ANSI_BRIGHT_RED + "Red Player" + ANSI_RESET + " vs " + ANSI_BOLD + ANSI_BRIGHT_BLUE + "Blue Player" + ANSI_RESET);
     }
 
     /**
@@ -128,52 +111,9 @@ public class ConsoleView {    // ANSI color codes for colored output
      */
     public static void displayGameLegend() {
         displayLegend();
-        System.out.println();
-    }    /**
-     * Formats a square for enhanced display with Unicode symbols and better colors.
-     * @param square the square to format
-     * @return a formatted string representing the square
-     */
-    private static String formatSquareEnhanced(Square square) {
-        if (square == null) {
-            return " ? ";
-        }
-
-        Piece piece = square.getPiece();
-        SquareType type = square.getType();
-
-        // Format based on square type and piece
-        if (piece != null) {
-            String pieceSymbol = getPieceSymbol(piece);
-              // Color the piece based on player with enhanced colors
-            if (piece.getOwner() != null) {
-                // Try to determine color by checking common patterns
-                boolean isRedPlayer = isRedPlayerPiece(piece);
-                
-                if (isRedPlayer) {
-                    return ANSI_BOLD + ANSI_BRIGHT_RED + pieceSymbol + ANSI_RESET;
-                } else {
-                    return ANSI_BOLD + ANSI_BRIGHT_BLUE + pieceSymbol + ANSI_RESET;
-                }
-            }
-            return ANSI_BOLD + ANSI_WHITE + pieceSymbol + ANSI_RESET;
-        } else {            // Display special squares with enhanced styling
-            switch (type) {
-                case RIVIERE:
-                    return ANSI_BOLD + ANSI_CYAN + "~~~" + ANSI_RESET;
-                case PIEGE:
-                    return ANSI_BOLD + ANSI_YELLOW + "###" + ANSI_RESET;
-                case SANCTUAIRE_RED:
-                    return ANSI_BOLD + ANSI_BRIGHT_RED + "***" + ANSI_RESET;
-                case SANCTUAIRE_BLUE:
-                    return ANSI_BOLD + ANSI_BRIGHT_BLUE + "***" + ANSI_RESET;
-                case NORMAL:
-                default:
-                    return "   ";
-            }
-        }
+        out().println();
     }
-    
+
     /**
      * Helper method to determine if a piece belongs to the red player.
      * This is a temporary solution - ideally we'd have better context.
@@ -186,29 +126,8 @@ public class ConsoleView {    // ANSI color codes for colored output
                piece.getOwner().getName().toLowerCase().contains("red") ||
                piece.getOwner().getName().equals("player1");
     }
-      /**
-     * Gets the symbol for a piece - using ASCII-safe characters.
-     * @param piece the piece to get the symbol for
-     * @return a simple text symbol representing the piece
-     */
-    private static String getPieceSymbol(Piece piece) {
-        if (piece == null) {
-            return "   ";
-        }
-
-        Rank rank = piece.getRank();
-        switch (rank) {
-            case ELEPHANT: return "ELE";  // Elephant
-            case LION:     return "LIO";  // Lion
-            case TIGRE:    return "TIG";  // Tiger
-            case PANTHERE: return "PAN";  // Panther
-            case CHIEN:    return "CHI";  // Dog
-            case LOUP:     return "LOU";  // Wolf
-            case CHAT:     return "CHA";  // Cat
-            case RAT:      return "RAT";  // Rat
-            default:       return "???";  // Unknown
-        }
-    }/**
+    
+    /**
      * Formats a square for display based on its type and piece (original version).
      * @param square the square to format
      * @return a formatted string representing the square
@@ -281,47 +200,48 @@ public class ConsoleView {    // ANSI color codes for colored output
      * @param message the message to display
      */
     public static void showMessage(String message) {
-        System.out.println(message);
+        out().println(message);
     }    /**
      * Displays help information for the game.
      */
     public static void displayHelp() {
-        System.out.println();        System.out.println(ANSI_BOLD + ANSI_BRIGHT_GREEN + "+======================================================================+" + ANSI_RESET);
-        System.out.println(ANSI_BOLD + ANSI_BRIGHT_GREEN + "|" + ANSI_BRIGHT_WHITE + "                  JUNGLE CHESS HELP                          " + ANSI_BRIGHT_GREEN + "|" + ANSI_RESET);
-        System.out.println(ANSI_BOLD + ANSI_BRIGHT_GREEN + "|" + ANSI_BRIGHT_WHITE + "                    XOU DOU QI                              " + ANSI_BRIGHT_GREEN + "|" + ANSI_RESET);
-        System.out.println(ANSI_BOLD + ANSI_BRIGHT_GREEN + "+======================================================================+" + ANSI_RESET);
-        System.out.println();
-          System.out.println(ANSI_BOLD + ANSI_YELLOW + "AVAILABLE COMMANDS:" + ANSI_RESET);
-        System.out.println("  * " + ANSI_BOLD + ANSI_CYAN + "move <from> <to>" + ANSI_RESET + "   - Move a piece (e.g., 'move A1 A2')");
-        System.out.println("  ? " + ANSI_BOLD + ANSI_CYAN + "help" + ANSI_RESET + "               - Display this help message");
-        System.out.println("  X " + ANSI_BOLD + ANSI_CYAN + "quit" + ANSI_RESET + " or " + ANSI_BOLD + ANSI_CYAN + "exit" + ANSI_RESET + "      - Exit the game (with confirmation)");
-        System.out.println();
-          System.out.println(ANSI_BOLD + ANSI_YELLOW + "COORDINATE SYSTEM:" + ANSI_RESET);
-        System.out.println("  * Columns: A-G (left to right)");
-        System.out.println("  * Rows: 1-9 (top to bottom)");
-        System.out.println("  * Examples: A1 (top-left), G9 (bottom-right), D5 (center)");
-        System.out.println();
-          System.out.println(ANSI_BOLD + ANSI_YELLOW + "GAME RULES:" + ANSI_RESET);
-        System.out.println("  1. " + ANSI_BOLD + ANSI_GREEN + "Movement:" + ANSI_RESET + " Animals move to adjacent squares (up/down/left/right)");
-        System.out.println("  2. " + ANSI_BOLD + ANSI_GREEN + "Capturing:" + ANSI_RESET + " Animals can capture equal or lower-ranked opponents");
-        System.out.println("  3. " + ANSI_BOLD + ANSI_GREEN + "Special:" + ANSI_RESET + " RAT can capture ELEPHANT (strongest captures weakest!)");
-        System.out.println("  4. " + ANSI_BOLD + ANSI_GREEN + "River:" + ANSI_RESET + " Only RAT can enter river squares");
-        System.out.println("  5. " + ANSI_BOLD + ANSI_GREEN + "Jumping:" + ANSI_RESET + " LION and TIGER can jump over river (horizontally/vertically)");
-        System.out.println("  6. " + ANSI_BOLD + ANSI_GREEN + "Traps:" + ANSI_RESET + " Animals in enemy traps are weakened (any piece can capture them)");
-        System.out.println("  7. " + ANSI_BOLD + ANSI_GREEN + "Victory:" + ANSI_RESET + " Win by moving any piece into opponent's sanctuary");
-        System.out.println();
-          System.out.println(ANSI_BOLD + ANSI_YELLOW + "PIECE RANKINGS (strongest to weakest):" + ANSI_RESET);
-        System.out.println("  8. " + ANSI_BOLD + ANSI_GREEN + "ELE" + ANSI_RESET + " - Elephant  |  7. " + ANSI_BOLD + ANSI_GREEN + "LIO" + ANSI_RESET + " - Lion      |  6. " + ANSI_BOLD + ANSI_GREEN + "TIG" + ANSI_RESET + " - Tiger");
-        System.out.println("  5. " + ANSI_BOLD + ANSI_GREEN + "PAN" + ANSI_RESET + " - Panther   |  4. " + ANSI_BOLD + ANSI_GREEN + "CHI" + ANSI_RESET + " - Dog       |  3. " + ANSI_BOLD + ANSI_GREEN + "LOU" + ANSI_RESET + " - Wolf");
-        System.out.println("  2. " + ANSI_BOLD + ANSI_GREEN + "CHA" + ANSI_RESET + " - Cat       |  1. " + ANSI_BOLD + ANSI_GREEN + "RAT" + ANSI_RESET + " - Rat (can capture Elephant!)");
-        System.out.println();
-          System.out.println(ANSI_BOLD + ANSI_YELLOW + "TIPS FOR NEW PLAYERS:" + ANSI_RESET);
-        System.out.println("  * Plan your moves carefully - traps can change the game!");
-        System.out.println("  * Use your RAT strategically - it's your only river piece");
-        System.out.println("  * Lions and Tigers are powerful jumpers - use rivers tactically");
-        System.out.println("  * Protect your sanctuary while advancing toward the opponent's");
-        System.out.println("  * Remember: RAT beats ELEPHANT, but everything else beats RAT");
-        System.out.println();
+        out().println();        out().println(ANSI_BOLD + ANSI_BRIGHT_GREEN + "+======================================================================+" + ANSI_RESET);
+        out().println(ANSI_BOLD + ANSI_BRIGHT_GREEN + "|" + ANSI_BRIGHT_WHITE + "                  JUNGLE CHESS HELP                          " + ANSI_BRIGHT_GREEN + "|" + ANSI_RESET);
+        out().println(ANSI_BOLD + ANSI_BRIGHT_GREEN + "|" + ANSI_BRIGHT_WHITE + "                    XOU DOU QI                              " + ANSI_BRIGHT_GREEN + "|" + ANSI_RESET);
+        out().println(ANSI_BOLD + ANSI_BRIGHT_GREEN + "+======================================================================+" + ANSI_RESET);
+        out().println();
+          out().println(ANSI_BOLD + ANSI_YELLOW + "AVAILABLE COMMANDS:" + ANSI_RESET);
+        out().println("  * " + ANSI_BOLD + ANSI_CYAN + "move <from> <to>" + ANSI_RESET + "   - Move a piece (e.g., 'move A1 A2')");
+        out().println("  < " + ANSI_BOLD + ANSI_CYAN + "undo" + ANSI_RESET + "               - Take back the last move");
+        out().println("  ? " + ANSI_BOLD + ANSI_CYAN + "help" + ANSI_RESET + "               - Display this help message");
+        out().println("  X " + ANSI_BOLD + ANSI_CYAN + "quit" + ANSI_RESET + " or " + ANSI_BOLD + ANSI_CYAN + "exit" + ANSI_RESET + "      - Exit the game (with confirmation)");
+        out().println();
+          out().println(ANSI_BOLD + ANSI_YELLOW + "COORDINATE SYSTEM:" + ANSI_RESET);
+        out().println("  * Columns: A-G (left to right)");
+        out().println("  * Rows: 1-9 (top to bottom)");
+        out().println("  * Examples: A1 (top-left), G9 (bottom-right), D5 (center)");
+        out().println();
+          out().println(ANSI_BOLD + ANSI_YELLOW + "GAME RULES:" + ANSI_RESET);
+        out().println("  1. " + ANSI_BOLD + ANSI_GREEN + "Movement:" + ANSI_RESET + " Animals move to adjacent squares (up/down/left/right)");
+        out().println("  2. " + ANSI_BOLD + ANSI_GREEN + "Capturing:" + ANSI_RESET + " Animals can capture equal or lower-ranked opponents");
+        out().println("  3. " + ANSI_BOLD + ANSI_GREEN + "Special:" + ANSI_RESET + " RAT can capture ELEPHANT (strongest captures weakest!)");
+        out().println("  4. " + ANSI_BOLD + ANSI_GREEN + "River:" + ANSI_RESET + " Only RAT can enter river squares");
+        out().println("  5. " + ANSI_BOLD + ANSI_GREEN + "Jumping:" + ANSI_RESET + " LION and TIGER can jump over river (horizontally/vertically)");
+        out().println("  6. " + ANSI_BOLD + ANSI_GREEN + "Traps:" + ANSI_RESET + " Animals in enemy traps are weakened (any piece can capture them)");
+        out().println("  7. " + ANSI_BOLD + ANSI_GREEN + "Victory:" + ANSI_RESET + " Win by moving any piece into opponent's sanctuary");
+        out().println();
+          out().println(ANSI_BOLD + ANSI_YELLOW + "PIECE RANKINGS (strongest to weakest):" + ANSI_RESET);
+        out().println("  8. " + ANSI_BOLD + ANSI_GREEN + "ELE" + ANSI_RESET + " - Elephant  |  7. " + ANSI_BOLD + ANSI_GREEN + "LIO" + ANSI_RESET + " - Lion      |  6. " + ANSI_BOLD + ANSI_GREEN + "TIG" + ANSI_RESET + " - Tiger");
+        out().println("  5. " + ANSI_BOLD + ANSI_GREEN + "PAN" + ANSI_RESET + " - Panther   |  4. " + ANSI_BOLD + ANSI_GREEN + "CHI" + ANSI_RESET + " - Dog       |  3. " + ANSI_BOLD + ANSI_GREEN + "LOU" + ANSI_RESET + " - Wolf");
+        out().println("  2. " + ANSI_BOLD + ANSI_GREEN + "CHA" + ANSI_RESET + " - Cat       |  1. " + ANSI_BOLD + ANSI_GREEN + "RAT" + ANSI_RESET + " - Rat (can capture Elephant!)");
+        out().println();
+          out().println(ANSI_BOLD + ANSI_YELLOW + "TIPS FOR NEW PLAYERS:" + ANSI_RESET);
+        out().println("  * Plan your moves carefully - traps can change the game!");
+        out().println("  * Use your RAT strategically - it's your only river piece");
+        out().println("  * Lions and Tigers are powerful jumpers - use rivers tactically");
+        out().println("  * Protect your sanctuary while advancing toward the opponent's");
+        out().println("  * Remember: RAT beats ELEPHANT, but everything else beats RAT");
+        out().println();
     }/**
      * Displays the current player's turn with enhanced formatting.
      * @param player the current player
@@ -335,17 +255,17 @@ public class ConsoleView {    // ANSI color codes for colored output
         String colorCode = isRedPlayer ? ANSI_BRIGHT_RED : ANSI_BRIGHT_BLUE;
         String playerIcon = isRedPlayer ? "[R]" : "[B]";
         
-        System.out.println();
-        System.out.println(ANSI_BOLD + colorCode + "+==========================================+" + ANSI_RESET);
-        System.out.println(ANSI_BOLD + colorCode + "|  " + playerIcon + " CURRENT TURN: " + playerName + 
+        out().println();
+        out().println(ANSI_BOLD + colorCode + "+==========================================+" + ANSI_RESET);
+        out().println(ANSI_BOLD + colorCode + "|  " + playerIcon + " CURRENT TURN: " + playerName + 
                           (" ".repeat(Math.max(0, 20 - playerName.length()))) + " |" + ANSI_RESET);
-        System.out.println(ANSI_BOLD + colorCode + "+==========================================+" + ANSI_RESET);
+        out().println(ANSI_BOLD + colorCode + "+==========================================+" + ANSI_RESET);
     }
       /**
      * Displays an enhanced input prompt with examples.
      */
     public static void displayInputPrompt() {
-        System.out.println();        System.out.print(ANSI_BOLD + ANSI_YELLOW + ">> Enter command" + ANSI_RESET + " (e.g., '" + 
+        out().println();        out().print(ANSI_BOLD + ANSI_YELLOW + ">> Enter command" + ANSI_RESET + " (e.g., '" + 
                         ANSI_BOLD + ANSI_CYAN + "move A1 A2" + ANSI_RESET + "', '" + 
                         ANSI_BOLD + ANSI_CYAN + "help" + ANSI_RESET + "', '" + 
                         ANSI_BOLD + ANSI_CYAN + "quit" + ANSI_RESET + "'): ");
@@ -357,35 +277,44 @@ public class ConsoleView {    // ANSI color codes for colored output
      * @param toCoord the destination coordinate
      */
     public static void displayMoveSuccess(String fromCoord, String toCoord) {
-        System.out.println(ANSI_BOLD + ANSI_BRIGHT_GREEN + "[OK] Move successful: " + fromCoord + " -> " + toCoord + ANSI_RESET);
+        out().println(ANSI_BOLD + ANSI_BRIGHT_GREEN + "[OK] Move successful: " + fromCoord + " -> " + toCoord + ANSI_RESET);
     }
       /**
      * Displays an enhanced error message for invalid moves.
      * @param reason the reason for the invalid move
      */
     public static void displayMoveError(String reason) {
-        System.out.println();        System.out.println(ANSI_BOLD + ANSI_BRIGHT_RED + "[X] Invalid move!" + ANSI_RESET);
+        out().println();        out().println(ANSI_BOLD + ANSI_BRIGHT_RED + "[X] Invalid move!" + ANSI_RESET);
         if (reason != null && !reason.isEmpty()) {
-            System.out.println(ANSI_BOLD + ANSI_YELLOW + "Reason: " + ANSI_RESET + reason);
+            out().println(ANSI_BOLD + ANSI_YELLOW + "Reason: " + ANSI_RESET + reason);
         }
-        System.out.println();
-        System.out.println(ANSI_BOLD + ANSI_WHITE + "Common issues to check:" + ANSI_RESET);
-        System.out.println("  * You have a piece at the source position");
-        System.out.println("  * The destination is adjacent (or valid jump for Lion/Tiger)");
-        System.out.println("  * Move follows capture rules (higher/equal rank, or RAT vs Elephant)");
-        System.out.println("  * River rules: only RAT can enter, Lion/Tiger can jump over");
-        System.out.println("  * You're not moving into your own sanctuary");
-        System.out.println();
+        out().println();
+        out().println(ANSI_BOLD + ANSI_WHITE + "Common issues to check:" + ANSI_RESET);
+        out().println("  * You have a piece at the source position");
+        out().println("  * The destination is adjacent (or valid jump for Lion/Tiger)");
+        out().println("  * Move follows capture rules (higher/equal rank, or RAT vs Elephant)");
+        out().println("  * River rules: only RAT can enter, Lion/Tiger can jump over");
+        out().println("  * You're not moving into your own sanctuary");
+        out().println();
     }
     
     /**
      * Displays a game over message with the winner.
      * @param winner the winning player
      */
-    public static void displayGameOver(Player winner) {        if (winner == null) {
-            System.out.println();
-            System.out.println(ANSI_BOLD + ANSI_YELLOW + "Game Over! It's a draw!" + ANSI_RESET);
-            System.out.println();
+    public static void displayGameOver(Player winner) {
+        displayGameOver(winner, "entered the enemy sanctuary");
+    }
+    
+    /**
+     * Displays a game over message with the winner and how the game was won.
+     * @param winner the winning player
+     * @param reason a short phrase describing the win, e.g. "entered the enemy sanctuary"
+     */
+    public static void displayGameOver(Player winner, String reason) {        if (winner == null) {
+            out().println();
+            out().println(ANSI_BOLD + ANSI_YELLOW + "Game Over! It's a draw!" + ANSI_RESET);
+            out().println();
             return;
         }
         
@@ -395,15 +324,15 @@ public class ConsoleView {    // ANSI color codes for colored output
         String trophy = "[WINNER]";
         String celebration = isRedPlayer ? "[RED WINS]" : "[BLUE WINS]";
         
-        System.out.println();
-        System.out.println(ANSI_BOLD + ANSI_YELLOW + "+==========================================+" + ANSI_RESET);
-        System.out.println(ANSI_BOLD + ANSI_YELLOW + "|" + ANSI_BRIGHT_WHITE + "               GAME OVER!               " + ANSI_YELLOW + "|" + ANSI_RESET);
-        System.out.println(ANSI_BOLD + ANSI_YELLOW + "+==========================================+" + ANSI_RESET);
-        System.out.println();
-        System.out.println(ANSI_BOLD + colorCode + "*** CONGRATULATIONS " + playerName + "! " + trophy + " ***" + ANSI_RESET);
-        System.out.println(ANSI_BOLD + ANSI_WHITE + "You have successfully entered the enemy sanctuary!" + ANSI_RESET);
-        System.out.println(celebration + " " + ANSI_BOLD + colorCode + "VICTORY!" + ANSI_RESET + " " + celebration);
-        System.out.println();
+        out().println();
+        out().println(ANSI_BOLD + ANSI_YELLOW + "+==========================================+" + ANSI_RESET);
+        out().println(ANSI_BOLD + ANSI_YELLOW + "|" + ANSI_BRIGHT_WHITE + "               GAME OVER!               " + ANSI_YELLOW + "|" + ANSI_RESET);
+        out().println(ANSI_BOLD + ANSI_YELLOW + "+==========================================+" + ANSI_RESET);
+        out().println();
+        out().println(ANSI_BOLD + colorCode + "*** CONGRATULATIONS " + playerName + "! " + trophy + " ***" + ANSI_RESET);
+        out().println(ANSI_BOLD + ANSI_WHITE + "You have successfully " + reason + "!" + ANSI_RESET);
+        out().println(celebration + " " + ANSI_BOLD + colorCode + "VICTORY!" + ANSI_RESET + " " + celebration);
+        out().println();
     }
     
     /**
@@ -416,27 +345,27 @@ public class ConsoleView {    // ANSI color codes for colored output
         String colorCode = isRedPlayer ? ANSI_BRIGHT_RED : ANSI_BRIGHT_BLUE;
         String playerIcon = isRedPlayer ? "[R]" : "[B]";
         
-        System.out.println();
-        System.out.println(ANSI_BOLD + colorCode + "+==========================================+" + ANSI_RESET);
-        System.out.println(ANSI_BOLD + colorCode + "|  " + playerIcon + " PLAYER: " + playerName.toUpperCase() + 
+        out().println();
+        out().println(ANSI_BOLD + colorCode + "+==========================================+" + ANSI_RESET);
+        out().println(ANSI_BOLD + colorCode + "|  " + playerIcon + " PLAYER: " + playerName.toUpperCase() + 
                           (" ".repeat(Math.max(0, 25 - playerName.length()))) + " |" + ANSI_RESET);
-        System.out.println(ANSI_BOLD + colorCode + "+==========================================+" + ANSI_RESET);
-        System.out.println(ANSI_BOLD + colorCode + "|  [W] Wins: " + String.format("%-27s", wins) + " |" + ANSI_RESET);
-        System.out.println(ANSI_BOLD + colorCode + "|  [L] Losses: " + String.format("%-25s", losses) + " |" + ANSI_RESET);
+        out().println(ANSI_BOLD + colorCode + "+==========================================+" + ANSI_RESET);
+        out().println(ANSI_BOLD + colorCode + "|  [W] Wins: " + String.format("%-27s", wins) + " |" + ANSI_RESET);
+        out().println(ANSI_BOLD + colorCode + "|  [L] Losses: " + String.format("%-25s", losses) + " |" + ANSI_RESET);
         
         // Calculate win rate
         int totalGames = wins + losses;
         double winRate = totalGames > 0 ? (double) wins / totalGames * 100 : 0;
-        System.out.println(ANSI_BOLD + colorCode + "|  [%] Win Rate: " + String.format("%.1f%%%-18s", winRate, "") + " |" + ANSI_RESET);
-        System.out.println(ANSI_BOLD + colorCode + "+==========================================+" + ANSI_RESET);
+        out().println(ANSI_BOLD + colorCode + "|  [%] Win Rate: " + String.format("%.1f%%%-18s", winRate, "") + " |" + ANSI_RESET);
+        out().println(ANSI_BOLD + colorCode + "+==========================================+" + ANSI_RESET);
     }
     
     /**
      * Displays enhanced game statistics header.
      */
     public static void displayStatsHeader() {
-        System.out.println();        System.out.println(ANSI_BOLD + ANSI_YELLOW + "+======================================================================+" + ANSI_RESET);
-        System.out.println(ANSI_BOLD + ANSI_YELLOW + "|" + ANSI_BRIGHT_WHITE + "                    PLAYER STATISTICS                         " + ANSI_YELLOW + "|" + ANSI_RESET);
-        System.out.println(ANSI_BOLD + ANSI_YELLOW + "+======================================================================+" + ANSI_RESET);
+        out().println();        out().println(ANSI_BOLD + ANSI_YELLOW + "+======================================================================+" + ANSI_RESET);
+        out().println(ANSI_BOLD + ANSI_YELLOW + "|" + ANSI_BRIGHT_WHITE + "                    PLAYER STATISTICS                         " + ANSI_YELLOW + "|" + ANSI_RESET);
+        out().println(ANSI_BOLD + ANSI_YELLOW + "+======================================================================+" + ANSI_RESET);
     }
 }